@@ -0,0 +1,97 @@
+package io.github.mcclauneck.slayerrewards.benchmark;
+
+import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import io.github.mcclauneck.slayerrewards.editor.util.ItemEncoding;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EditorUtil#itemStackToBase64} and {@link EditorUtil#itemStackFromBase64}
+ * on a typical named, enchanted drop.
+ * <p>
+ * Every encoding runs by default, including BINARY, the default storage
+ * format. The binary encodings rely on the item serializer of the mock server;
+ * if it does not implement one, setup fails for those parameters with a clear
+ * message instead of measuring a fallback. Pass
+ * {@code -Pjmh.args="ItemCodec -p encoding=LEGACY"} to run the YAML path alone.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemCodecBenchmark {
+
+    /**
+     * Encoding under test.
+     */
+    @Param({"LEGACY", "BINARY", "BINARY_GZIP"})
+    public ItemEncoding encoding;
+
+    private ItemStack item;
+    private String encoded;
+
+    /**
+     * Builds the item and its encoded form.
+     */
+    @Setup
+    public void setup() {
+        MockBukkit.mock();
+        item = new ItemStack(Material.DIAMOND_SWORD);
+        ItemMeta meta = item.getItemMeta();
+        meta.displayName(Component.text("Slayer's Edge"));
+        meta.lore(List.of(Component.text("Dropped by a boss"), Component.text("Rare")));
+        meta.addEnchant(Enchantment.SHARPNESS, 5, true);
+        item.setItemMeta(meta);
+        try {
+            encoded = EditorUtil.itemStackToBase64(item, encoding);
+        } catch (UnsupportedOperationException e) {
+            throw new IllegalStateException("The mock server cannot serialize items as bytes; " + encoding + " cannot be measured", e);
+        }
+    }
+
+    /**
+     * Stops the mock server.
+     */
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    /**
+     * @return The encoded item.
+     */
+    @Benchmark
+    public String encode() {
+        return EditorUtil.itemStackToBase64(item, encoding);
+    }
+
+    /**
+     * @return The decoded item.
+     */
+    @Benchmark
+    public ItemStack decode() {
+        return EditorUtil.itemStackFromBase64(encoded);
+    }
+}
@@ -0,0 +1,208 @@
+package io.github.mcclauneck.slayerrewards.benchmark;
+
+import io.github.mcclauneck.slayerrewards.common.SlayerRewardsProvider;
+import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import io.github.mcclauneck.slayerrewards.editor.util.ItemEncoding;
+import io.github.mcclauneck.slayerrewards.listeners.SlayerRewardsListener;
+import io.github.mcclauneck.slayerrewards.metrics.LatencyHistogram;
+import io.github.mcclauneck.slayerrewards.metrics.SlayerRewardsMetrics;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.damage.DamageType;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.inventory.ItemStack;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.plugin.MockPlugin;
+import org.mockbukkit.mockbukkit.world.WorldMock;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synthetic kill-storm load harness.
+ * <p>
+ * Drives {@link SlayerRewardsListener#onMobKill} with synthetic death events
+ * from many fake players on a MockBukkit server, at a fixed rate paced in
+ * 50 ms ticks. Deposits go to a {@link StandInEconomy} with configurable
+ * latency and failure rate. The report covers main-thread time per tick
+ * (kill handling plus scheduled tasks such as hologram spawns), reward
+ * throughput, end-to-end payout latency and hologram counts.
+ * </p>
+ * <p>
+ * Options are {@code key=value} arguments, e.g. via
+ * {@code ./gradlew killStorm -PkillStorm.args="players=500 kills_per_second=5000"}:
+ * </p>
+ * <ul>
+ * <li>{@code players} - fake killers (default 200)</li>
+ * <li>{@code kills_per_second} - kill rate (default 2000)</li>
+ * <li>{@code seconds} - run time (default 30)</li>
+ * <li>{@code drops} - custom drops configured on the mob (default 20)</li>
+ * <li>{@code latency_us} / {@code jitter_us} - deposit latency (default 2000 / 3000)</li>
+ * <li>{@code failure_rate} - share of failing deposits (default 0.01)</li>
+ * <li>{@code coalesce} - enable reward coalescing (default false)</li>
+ * <li>{@code threads} - reward dispatcher threads (default 4)</li>
+ * <li>{@code virtual} - run rewards on virtual threads (default false)</li>
+ * </ul>
+ */
+public final class KillStormHarness {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private KillStormHarness() {
+        // Entry point only
+    }
+
+    /**
+     * Runs the harness and prints the report.
+     *
+     * @param args The {@code key=value} options.
+     * @throws Exception If the harness cannot be set up.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int players = Integer.parseInt(options.getOrDefault("players", "200"));
+        int killsPerSecond = Integer.parseInt(options.getOrDefault("kills_per_second", "2000"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int drops = Integer.parseInt(options.getOrDefault("drops", "20"));
+        long latencyMicros = Long.parseLong(options.getOrDefault("latency_us", "2000"));
+        long jitterMicros = Long.parseLong(options.getOrDefault("jitter_us", "3000"));
+        double failureRate = Double.parseDouble(options.getOrDefault("failure_rate", "0.01"));
+        boolean coalesce = Boolean.parseBoolean(options.getOrDefault("coalesce", "false"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "4"));
+        boolean virtual = Boolean.parseBoolean(options.getOrDefault("virtual", "false"));
+
+        ServerMock server = MockBukkit.mock();
+        StandInEconomy economy = new StandInEconomy(latencyMicros, jitterMicros, failureRate, 4);
+        try {
+            MockPlugin plugin = MockBukkit.createMockPlugin();
+            writeConfig(plugin, coalesce, threads, virtual, drops);
+
+            SlayerRewardsProvider provider = new SlayerRewardsProvider(plugin, economy);
+            SlayerRewardsListener listener = new SlayerRewardsListener(provider);
+
+            WorldMock world = server.addSimpleWorld("world");
+            List<Player> killers = new ArrayList<>(players);
+            for (int i = 0; i < players; i++) killers.add(server.addPlayer());
+
+            LatencyHistogram tickTime = new LatencyHistogram();
+            int killsPerTick = Math.max(1, killsPerSecond / 20);
+            int ticks = seconds * 20;
+            long kills = 0;
+
+            System.out.printf(Locale.ROOT, "Kill storm: %d players, %d kills/s for %d s, %d drops, economy %d+%d us, %.1f%% failures, coalesce=%s%n",
+                players, killsPerTick * 20, seconds, drops, latencyMicros, jitterMicros, failureRate * 100, coalesce);
+
+            long started = System.nanoTime();
+            for (int tick = 0; tick < ticks; tick++) {
+                long tickStart = System.nanoTime();
+
+                for (int k = 0; k < killsPerTick; k++) {
+                    Player killer = killers.get((int) (kills++ % players));
+                    Location loc = new Location(world, (kills % 256) - 128, 64, (kills / 256 % 256) - 128);
+                    Zombie zombie = world.spawn(loc, Zombie.class);
+                    zombie.setKiller(killer);
+
+                    DamageSource source = DamageSource.builder(DamageType.PLAYER_ATTACK)
+                        .withCausingEntity(killer)
+                        .withDirectEntity(killer)
+                        .build();
+                    listener.onMobKill(new EntityDeathEvent(zombie, source, new ArrayList<>()));
+                    zombie.remove();
+                }
+                // Hologram spawns and removals scheduled back onto the main thread
+                server.getScheduler().performOneTick();
+
+                long elapsed = System.nanoTime() - tickStart;
+                tickTime.record(elapsed);
+                if (elapsed < TICK_NANOS) TimeUnit.NANOSECONDS.sleep(TICK_NANOS - elapsed);
+            }
+            long runNanos = System.nanoTime() - started;
+
+            // Let queued rewards and in-flight deposits finish, still ticking the scheduler
+            for (Player killer : killers) provider.flushPlayer(killer.getUniqueId().toString());
+            SlayerRewardsMetrics metrics = provider.getMetrics();
+            long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while ((metrics.getExecutorQueued().sum() > 0 || metrics.getDepositsInFlight().sum() > 0)
+                && System.nanoTime() < drainDeadline) {
+                server.getScheduler().performOneTick();
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            for (int i = 0; i < 5; i++) server.getScheduler().performOneTick();
+
+            report(kills, runNanos, tickTime, metrics, economy);
+            provider.shutdown();
+        } finally {
+            economy.close();
+            MockBukkit.unmock();
+        }
+    }
+
+    private static void report(long kills, long runNanos, LatencyHistogram tickTime, SlayerRewardsMetrics metrics, StandInEconomy economy) {
+        double runSeconds = runNanos / 1_000_000_000.0;
+        LatencyHistogram payout = metrics.getPayout();
+        LatencyHistogram handler = metrics.getKillHandler();
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Kills:            %d (%.0f/s)%n", kills, kills / runSeconds);
+        System.out.printf(Locale.ROOT, "Deposits:         %d ok, %d failed (%.0f/s), %d coins%n",
+            economy.getDeposits(), economy.getFailures(), economy.getDeposits() / runSeconds, economy.getTotalDeposited());
+        System.out.printf(Locale.ROOT, "Main thread/tick: mean %s  p50 %s  p99 %s  max %s%n",
+            ms(tickTime.getMeanNanos()), ms(tickTime.getPercentileNanos(0.50)), ms(tickTime.getPercentileNanos(0.99)), ms(tickTime.getMaxNanos()));
+        System.out.printf(Locale.ROOT, "onMobKill:        mean %s  p99 %s  max %s%n",
+            ms(handler.getMeanNanos()), ms(handler.getPercentileNanos(0.99)), ms(handler.getMaxNanos()));
+        System.out.printf(Locale.ROOT, "Payout latency:   p50 %s  p90 %s  p99 %s  max %s (%d payouts)%n",
+            ms(payout.getPercentileNanos(0.50)), ms(payout.getPercentileNanos(0.90)), ms(payout.getPercentileNanos(0.99)),
+            ms(payout.getMaxNanos()), payout.getCount());
+        System.out.printf(Locale.ROOT, "Holograms:        %d spawned, %d recycled, %d capped, %d alive, %d pooled%n",
+            metrics.getHologramsSpawned().sum(), metrics.getHologramsRecycled().sum(), metrics.getHologramsCapped().sum(),
+            metrics.getHologramsAlive().sum(), metrics.getHologramsPooled().sum());
+        System.out.printf(Locale.ROOT, "Economy failures: %d%n", metrics.getEconomyFailures().sum());
+    }
+
+    private static void writeConfig(MockPlugin plugin, boolean coalesce, int threads, boolean virtual, int drops) throws IOException {
+        File configFolder = new File(plugin.getDataFolder(), "extensions/configs/SlayerRewards");
+        File mobsFolder = new File(configFolder, "mobs");
+        mobsFolder.mkdirs();
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("reward.coalesce.enabled", coalesce);
+        config.set("reward.dispatch.threads", threads);
+        config.set("reward.dispatch.virtual_threads", virtual);
+        config.save(new File(configFolder, "config.yml"));
+
+        YamlConfiguration mob = new YamlConfiguration();
+        mob.set("currency", "coin");
+        mob.set("amount", "5-20");
+        String item = EditorUtil.itemStackToBase64(new ItemStack(Material.ROTTEN_FLESH), ItemEncoding.LEGACY);
+        for (int key = 1; key <= drops; key++) {
+            mob.set(EditorUtil.DROP_SECTION + "." + key + ".metadata", item);
+            mob.set(EditorUtil.DROP_SECTION + "." + key + ".amount", 1);
+            mob.set(EditorUtil.DROP_SECTION + "." + key + ".chance", 5.0);
+        }
+        mob.save(new File(mobsFolder, "zombie.yml"));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split > 0) options.put(arg.substring(0, split).toLowerCase(Locale.ROOT), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.mcclauneck.slayerrewards.benchmark;
+
+import io.github.mcclauneck.slayerrewards.registry.MobReward;
+import io.github.mcclauneck.slayerrewards.registry.RewardRegistry;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving the money reward of a kill.
+ * <p>
+ * {@code perKillFileLookup} reproduces the original behaviour of reading and
+ * parsing the mob file on every kill; {@code registryLookup} is the compiled
+ * registry lookup plus {@link MobReward#rollAmount()} used today.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewardAmountBenchmark {
+
+    private File mobsFolder;
+    private RewardRegistry registry;
+
+    /**
+     * Writes a mob file and compiles it.
+     *
+     * @throws IOException If the temporary mob file cannot be written.
+     */
+    @Setup
+    public void setup() throws IOException {
+        MockBukkit.mock();
+        mobsFolder = Files.createTempDirectory("slayerrewards-bench").toFile();
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("currency", "coin");
+        config.set("amount", "10-50");
+        config.save(new File(mobsFolder, "zombie.yml"));
+
+        registry = RewardRegistry.load(mobsFolder);
+    }
+
+    /**
+     * Stops the mock server and removes the mob file.
+     */
+    @TearDown
+    public void tearDown() {
+        MockBukkit.unmock();
+        File[] files = mobsFolder.listFiles();
+        if (files != null) for (File file : files) file.delete();
+        mobsFolder.delete();
+    }
+
+    /**
+     * @return The rolled amount, via the compiled registry.
+     */
+    @Benchmark
+    public int registryLookup() {
+        MobReward reward = registry.get(EntityType.ZOMBIE);
+        return reward != null ? reward.rollAmount() : 0;
+    }
+
+    /**
+     * @return The rolled amount, reading the mob file like the original getMoney.
+     */
+    @Benchmark
+    public int perKillFileLookup() {
+        File mobFile = new File(mobsFolder, "zombie.yml");
+        if (!mobFile.exists()) return 0;
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(mobFile);
+        String amountRaw = config.getString("amount", "0");
+
+        try {
+            if (amountRaw.contains("-")) {
+                String[] parts = amountRaw.split("-");
+                int min = Integer.parseInt(parts[0].trim());
+                int max = Integer.parseInt(parts[1].trim());
+                return ThreadLocalRandom.current().nextInt(min, max + 1);
+            }
+            return Integer.parseInt(amountRaw);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.mcclauneck.slayerrewards.benchmark;
+
+import io.github.mcclauneck.slayerrewards.editor.MobDocument;
+import io.github.mcclauneck.slayerrewards.editor.MobDocumentStore;
+import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import io.github.mcclauneck.slayerrewards.editor.util.ItemEncoding;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving one editor page of a large mob file.
+ * <p>
+ * {@code documentSave} is {@link EditorUtil#savePage} against the in-memory
+ * document; with {@code changed} one slot differs on every call, otherwise the
+ * page is saved unchanged. {@code fileSave} reproduces the original behaviour
+ * of loading, re-encoding and rewriting the whole file on every save.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SavePageBenchmark {
+
+    private static final Material[] MATERIALS = {
+        Material.DIAMOND, Material.EMERALD, Material.GOLD_INGOT, Material.IRON_INGOT, Material.BONE
+    };
+
+    /**
+     * Number of drops stored in the mob file.
+     */
+    @Param({"45", "1000", "5000"})
+    public int entries;
+
+    /**
+     * Whether one slot of the page changes between saves.
+     */
+    @Param({"false", "true"})
+    public boolean changed;
+
+    private File mobsFolder;
+    private File mobFile;
+    private MobDocumentStore store;
+    private MobDocument document;
+    private Inventory page;
+    private int tick;
+
+    /**
+     * Writes the mob file and opens it in the editor store.
+     *
+     * @throws IOException If the temporary mob file cannot be written.
+     */
+    @Setup
+    public void setup() throws IOException {
+        MockBukkit.mock();
+        EditorUtil.setItemEncoding(ItemEncoding.LEGACY);
+        mobsFolder = Files.createTempDirectory("slayerrewards-bench").toFile();
+        mobFile = new File(mobsFolder, "zombie.yml");
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("currency", "coin");
+        config.set("amount", "10-50");
+        for (int key = 1; key <= entries; key++) {
+            ItemStack item = new ItemStack(MATERIALS[key % MATERIALS.length]);
+            config.set(EditorUtil.DROP_SECTION + "." + key + ".metadata", EditorUtil.itemStackToBase64(item));
+            config.set(EditorUtil.DROP_SECTION + "." + key + ".amount", 1);
+            config.set(EditorUtil.DROP_SECTION + "." + key + ".chance", 10.0);
+        }
+        config.save(mobFile);
+
+        // Writes are deferred far beyond the measurement so only the in-memory save is timed
+        store = new MobDocumentStore(mobsFolder, TimeUnit.HOURS.toMillis(1));
+        document = store.open("zombie");
+
+        page = Bukkit.createInventory(null, 54);
+        for (int slot = 0; slot < 45; slot++) {
+            page.setItem(slot, document.getItem(EditorUtil.DROP_SECTION, slot + 1));
+        }
+    }
+
+    /**
+     * Stops the mock server and removes the mob file.
+     */
+    @TearDown
+    public void tearDown() {
+        store.close();
+        MockBukkit.unmock();
+        File[] files = mobsFolder.listFiles();
+        if (files != null) for (File file : files) file.delete();
+        mobsFolder.delete();
+    }
+
+    /**
+     * Alternates the amount of the first slot so every save sees a change.
+     */
+    private void touchFirstSlot() {
+        ItemStack first = page.getItem(0);
+        first.setAmount(1 + (tick++ & 1));
+        page.setItem(0, first);
+    }
+
+    /**
+     * @return The document, after saving the page into it.
+     */
+    @Benchmark
+    public MobDocument documentSave() {
+        if (changed) touchFirstSlot();
+        EditorUtil.savePage(document, 1, page);
+        return document;
+    }
+
+    /**
+     * @return The configuration, after rewriting the whole file like the original savePage.
+     * @throws IOException If the file cannot be written.
+     */
+    @Benchmark
+    public YamlConfiguration fileSave() throws IOException {
+        if (changed) touchFirstSlot();
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(mobFile);
+        for (int slot = 0; slot < 45; slot++) {
+            ItemStack item = page.getItem(slot);
+            String path = EditorUtil.DROP_SECTION + "." + (slot + 1);
+            if (item != null) {
+                config.set(path + ".metadata", EditorUtil.itemStackToBase64(item));
+                config.set(path + ".amount", item.getAmount());
+            } else {
+                config.set(path, null);
+            }
+        }
+        config.save(mobFile);
+        return config;
+    }
+}
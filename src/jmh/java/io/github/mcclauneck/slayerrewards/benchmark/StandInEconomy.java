@@ -0,0 +1,101 @@
+package io.github.mcclauneck.slayerrewards.benchmark;
+
+import io.github.mcclauneck.slayerrewards.api.IRewardEconomy;
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory economy with configurable latency and failure rate.
+ * <p>
+ * Each deposit completes on a small scheduler pool after a uniformly jittered
+ * delay, standing in for MCEconomy's database round trip.
+ * </p>
+ */
+public class StandInEconomy implements IRewardEconomy, AutoCloseable {
+
+    private final long latencyMicros;
+    private final long jitterMicros;
+    private final double failureRate;
+    private final ScheduledExecutorService completions;
+    private final Map<String, LongAdder> balances = new ConcurrentHashMap<>();
+    private final LongAdder deposits = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Creates the stand-in economy.
+     *
+     * @param latencyMicros The base latency of a deposit, in microseconds.
+     * @param jitterMicros  The maximum random latency added on top, in microseconds.
+     * @param failureRate   The probability between 0 and 1 that a deposit returns false.
+     * @param threads       The number of threads completing deposits.
+     */
+    public StandInEconomy(long latencyMicros, long jitterMicros, double failureRate, int threads) {
+        this.latencyMicros = latencyMicros;
+        this.jitterMicros = jitterMicros;
+        this.failureRate = failureRate;
+        this.completions = Executors.newScheduledThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "StandInEconomy");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addCoin(String playerUuid, CurrencyType currency, int amount) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMicros + (jitterMicros > 0 ? random.nextLong(jitterMicros + 1) : 0);
+        boolean fail = random.nextDouble() < failureRate;
+
+        completions.schedule(() -> {
+            if (fail) {
+                failures.increment();
+                future.complete(false);
+                return;
+            }
+            balances.computeIfAbsent(playerUuid + ":" + currency.getName(), k -> new LongAdder()).add(amount);
+            deposits.increment();
+            future.complete(true);
+        }, delay, TimeUnit.MICROSECONDS);
+        return future;
+    }
+
+    /**
+     * @return The number of successful deposits.
+     */
+    public long getDeposits() {
+        return deposits.sum();
+    }
+
+    /**
+     * @return The number of deposits that returned false.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return The sum of all balances.
+     */
+    public long getTotalDeposited() {
+        long total = 0;
+        for (LongAdder balance : balances.values()) total += balance.sum();
+        return total;
+    }
+
+    /**
+     * Stops completing deposits.
+     */
+    @Override
+    public void close() {
+        completions.shutdownNow();
+    }
+}
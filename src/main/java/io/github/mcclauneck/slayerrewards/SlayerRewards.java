@@ -4,6 +4,8 @@ import io.github.mcclauneck.slayerrewards.command.SlayerRewardsCommand;
 import io.github.mcclauneck.slayerrewards.common.SlayerRewardsProvider;
 import io.github.mcclauneck.slayerrewards.editor.MobDropEditor;
 import io.github.mcclauneck.slayerrewards.listeners.SlayerRewardsListener;
+import io.github.mcclauneck.slayerrewards.listeners.SpawnReasonListener;
+import io.github.mcclauneck.slayerrewards.registry.RewardWatcher;
 import io.github.mcclauneck.slayerrewards.tabcompleter.SlayerRewardsTabCompleter;
 import io.github.mcengine.mcextension.api.IMCExtension;
 import io.github.mcengine.mcextension.common.MCExtensionLogger;
@@ -33,6 +35,7 @@ public class SlayerRewards implements IMCExtension {
     private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
     private SlayerRewardsProvider provider;
     private MobDropEditor editor;
+    private RewardWatcher watcher;
 
     /**
      * Called when the extension is loaded by MCEconomy.
@@ -44,17 +47,26 @@ public class SlayerRewards implements IMCExtension {
     @Override
     public void onLoad(JavaPlugin plugin, Executor executor) {
         this.provider = new SlayerRewardsProvider(plugin);
-        this.editor = new MobDropEditor(plugin, provider.getMobsFolder());
+        this.editor = new MobDropEditor(plugin, provider);
+
+        // Hot reload mob files in the background instead of checking them on every kill
+        this.watcher = new RewardWatcher(provider);
+        this.watcher.start();
 
         plugin.getServer().getPluginManager().registerEvents(
-            new SlayerRewardsListener(executor, provider), 
+            new SlayerRewardsListener(provider), 
             plugin
         );
+        if (provider.getSpawnTag().isEnabled()) {
+            plugin.getServer().getPluginManager().registerEvents(new SpawnReasonListener(provider.getSpawnTag()), plugin);
+        }
+        // Sweeps hologram displays left behind in loaded chunks
+        plugin.getServer().getPluginManager().registerEvents(provider.getHologramManager(), plugin);
         plugin.getServer().getPluginManager().registerEvents(editor, plugin);
 
         registerCommand(plugin);
 
-        logger.info("Extension loaded successfully.");
+        logger.info("Extension loaded successfully (" + provider.getRegistry().size() + " mob rewards compiled).");
     }
 
     /**
@@ -66,7 +78,7 @@ public class SlayerRewards implements IMCExtension {
             commandMapField.setAccessible(true);
             CommandMap commandMap = (CommandMap) commandMapField.get(Bukkit.getServer());
 
-            SlayerRewardsCommand executor = new SlayerRewardsCommand(editor);
+            SlayerRewardsCommand executor = new SlayerRewardsCommand(editor, provider);
             SlayerRewardsTabCompleter tabCompleter = new SlayerRewardsTabCompleter(provider);
 
             Command cmd = new Command("slayerrewards", "Manage mob drops", "/slayerrewards edit <mob>", Collections.singletonList("slayer")) {
@@ -96,6 +108,18 @@ public class SlayerRewards implements IMCExtension {
      */
     @Override
     public void onDisable(JavaPlugin plugin, Executor executor) {
+        if (watcher != null) {
+            watcher.close();
+            this.watcher = null;
+        }
+        if (editor != null) {
+            // Write editor changes still waiting for the write-behind delay
+            editor.shutdown();
+        }
+        if (provider != null) {
+            // Drain queued rewards and flush coalesced payouts so nothing earned is lost
+            provider.shutdown();
+        }
         this.provider = null;
         this.editor = null;
         logger.info("Extension disabled.");
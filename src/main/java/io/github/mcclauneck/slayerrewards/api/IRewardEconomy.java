@@ -0,0 +1,24 @@
+package io.github.mcclauneck.slayerrewards.api;
+
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface representing the economy that reward payouts are deposited into.
+ * <p>
+ * The default implementation forwards to MCEconomy. Load tests and benchmarks
+ * can substitute an in-memory economy with controlled latency and failures.
+ */
+public interface IRewardEconomy {
+
+    /**
+     * Deposits an amount into a player's account.
+     *
+     * @param playerUuid The unique identifier of the player to pay.
+     * @param currency   The currency to deposit.
+     * @param amount     The amount to deposit.
+     * @return A future completing with whether the deposit succeeded.
+     */
+    CompletableFuture<Boolean> addCoin(String playerUuid, CurrencyType currency, int amount);
+}
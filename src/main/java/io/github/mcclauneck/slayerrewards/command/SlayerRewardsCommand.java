@@ -1,6 +1,11 @@
 package io.github.mcclauneck.slayerrewards.command;
 
+import io.github.mcclauneck.slayerrewards.common.SlayerRewardsProvider;
 import io.github.mcclauneck.slayerrewards.editor.MobDropEditor;
+import io.github.mcclauneck.slayerrewards.editor.util.ItemEncoding;
+import io.github.mcclauneck.slayerrewards.metrics.LatencyHistogram;
+import io.github.mcclauneck.slayerrewards.metrics.SlayerRewardsMetrics;
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.command.Command;
@@ -8,36 +13,61 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Handles the execution of the main /slayerrewards command.
  * <p>
  * This executor serves as the entry point for administrative tasks,
- * specifically opening the drop editor GUI.
+ * such as opening the drop editor GUI, migrating stored items,
+ * converting between the mobs folder and the binary database and
+ * inspecting the hot-path metrics.
  * </p>
  */
 public class SlayerRewardsCommand implements CommandExecutor {
 
+    private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+
     /**
      * Reference to the editor logic for opening GUIs.
      */
     private final MobDropEditor editor;
 
+    /**
+     * Reference to the provider for configuration and mob files.
+     */
+    private final SlayerRewardsProvider provider;
+
     /**
      * Constructs a new command executor.
      *
-     * @param editor The MobDropEditor instance used to open the management interface.
+     * @param editor   The MobDropEditor instance used to open the management interface.
+     * @param provider The provider owning the mob files and settings.
      */
-    public SlayerRewardsCommand(MobDropEditor editor) {
+    public SlayerRewardsCommand(MobDropEditor editor, SlayerRewardsProvider provider) {
         this.editor = editor;
+        this.provider = provider;
     }
 
     /**
      * Executes the command logic.
      * <p>
-     * <b>Usage:</b> /slayerrewards edit &lt;mob&gt; [page]
+     * <b>Usage:</b> /slayerrewards edit &lt;mob&gt; [page]<br>
+     * <b>Usage:</b> /slayerrewards pool &lt;mob&gt; &lt;pool&gt; [page]<br>
+     * <b>Usage:</b> /slayerrewards migrate [confirm]<br>
+     * <b>Usage:</b> /slayerrewards export<br>
+     * <b>Usage:</b> /slayerrewards import<br>
+     * <b>Usage:</b> /slayerrewards stats
      * </p>
      *
-     * @param sender  The source of the command (must be a Player).
+     * @param sender  The source of the command (a Player for the editor subcommands).
      * @param command The command executed.
      * @param label   The alias used.
      * @param args    The command arguments.
@@ -45,13 +75,31 @@ public class SlayerRewardsCommand implements CommandExecutor {
      */
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        if (!(sender instanceof Player player)) {
-            sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.only_players", NamedTextColor.RED));
+        if (!sender.hasPermission("slayerrewards.admin")) {
+            sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.permission_denied", NamedTextColor.RED));
+            return true;
+        }
+
+        // Usage: /slayerrewards migrate [confirm] (console allowed)
+        if (args.length >= 1 && args[0].equalsIgnoreCase("migrate")) {
+            migrate(sender, args.length >= 2 && args[1].equalsIgnoreCase("confirm"));
             return true;
         }
 
-        if (!player.hasPermission("slayerrewards.admin")) {
-            player.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.permission_denied", NamedTextColor.RED));
+        // Usage: /slayerrewards export | import (console allowed)
+        if (args.length >= 1 && (args[0].equalsIgnoreCase("export") || args[0].equalsIgnoreCase("import"))) {
+            convert(sender, args[0].equalsIgnoreCase("export"));
+            return true;
+        }
+
+        // Usage: /slayerrewards stats (console allowed)
+        if (args.length >= 1 && args[0].equalsIgnoreCase("stats")) {
+            stats(sender);
+            return true;
+        }
+
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.only_players", NamedTextColor.RED));
             return true;
         }
 
@@ -70,7 +118,151 @@ public class SlayerRewardsCommand implements CommandExecutor {
             return true;
         }
 
+        // Usage: /slayerrewards pool <mob> <pool> [page]
+        if (args.length >= 3 && args[0].equalsIgnoreCase("pool")) {
+            String mobName = args[1];
+            String pool = args[2];
+            // Pool names are YAML keys; a dot would open nested sections
+            if (pool.indexOf('.') >= 0) {
+                player.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.pool.invalid_name", NamedTextColor.RED,
+                    Component.text(pool)));
+                return true;
+            }
+            int page = 1;
+
+            if (args.length >= 4) {
+                try {
+                    page = Integer.parseInt(args[3]);
+                } catch (NumberFormatException ignored) {}
+            }
+
+            editor.openEditor(player, mobName, pool, page);
+            return true;
+        }
+
         player.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.usage", NamedTextColor.RED));
         return true;
     }
+
+    /**
+     * Rewrites every mob file's items in the configured storage encoding.
+     * <p>
+     * Without confirmation only the number of affected files is reported. The
+     * rewrite runs off the main thread; the file watcher reloads the results.
+     * </p>
+     *
+     * @param sender  The command sender to report to.
+     * @param confirm Whether the migration should actually run.
+     */
+    private void migrate(CommandSender sender, boolean confirm) {
+        ItemEncoding target = provider.getConfig().getItemEncoding();
+        List<File> files = mobFiles(provider.getMobsFolder());
+        int fileCount = files.size();
+
+        if (!confirm) {
+            sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.migrate.confirm", NamedTextColor.YELLOW,
+                Component.text(fileCount), Component.text(target.name())));
+            return;
+        }
+
+        CompletableFuture.runAsync(() -> {
+            int items = 0;
+            int failed = 0;
+            for (File file : files) {
+                try {
+                    // Through the editor's store, so an open document cannot overwrite the result
+                    items += editor.getStore().migrate(file, target);
+                } catch (Exception e) {
+                    failed++;
+                    logger.error("Failed to migrate " + file.getPath() + ": " + e.getMessage());
+                }
+            }
+            sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.migrate.done", NamedTextColor.GREEN,
+                Component.text(items), Component.text(fileCount), Component.text(failed)));
+        });
+    }
+
+    /**
+     * Lists the mob files of the mobs folder and of its world and region folders.
+     */
+    private static List<File> mobFiles(File mobsFolder) {
+        List<File> files = new ArrayList<>();
+        addMobFiles(mobsFolder, files);
+        for (String parent : new String[] {"worlds", "regions"}) {
+            File[] children = new File(mobsFolder, parent).listFiles(File::isDirectory);
+            if (children == null) continue;
+            for (File child : children) addMobFiles(child, files);
+        }
+        return files;
+    }
+
+    private static void addMobFiles(File folder, List<File> files) {
+        File[] found = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (found != null) files.addAll(Arrays.asList(found));
+    }
+
+    /**
+     * Exports the mobs folder tree into rewards.db, or imports it back into YAML files.
+     * <p>
+     * Runs off the main thread; imported files are picked up by the file watcher.
+     * </p>
+     *
+     * @param sender The command sender to report to.
+     * @param export Whether to export (YAML to database) rather than import.
+     */
+    private void convert(CommandSender sender, boolean export) {
+        String direction = export ? "export" : "import";
+        CompletableFuture.runAsync(() -> {
+            try {
+                int count = export ? provider.exportDatabase() : provider.importDatabase();
+                sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command." + direction + ".done", NamedTextColor.GREEN,
+                    Component.text(count)));
+            } catch (Exception e) {
+                sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command." + direction + ".failed", NamedTextColor.RED,
+                    Component.text(String.valueOf(e.getMessage()))));
+            }
+        });
+    }
+
+    /**
+     * Reports the hot-path metrics to the sender.
+     * <p>
+     * Latencies are shown as count, mean, p50, p99 and max in milliseconds;
+     * percentiles are bucket upper bounds and accurate to within 2x.
+     * </p>
+     *
+     * @param sender The command sender to report to.
+     */
+    private void stats(CommandSender sender) {
+        SlayerRewardsMetrics metrics = provider.getMetrics();
+        sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.stats.header", NamedTextColor.GOLD));
+
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.stats.latency", NamedTextColor.GRAY,
+                Component.text(entry.getKey(), NamedTextColor.YELLOW),
+                Component.text(histogram.getCount()),
+                Component.text(millis(histogram.getMeanNanos())),
+                Component.text(millis(histogram.getPercentileNanos(0.50))),
+                Component.text(millis(histogram.getPercentileNanos(0.99))),
+                Component.text(millis(histogram.getMaxNanos()))));
+        }
+
+        Map<String, Long> values = new LinkedHashMap<>();
+        metrics.getCounters().forEach((name, adder) -> values.put(name, adder.sum()));
+        metrics.getGauges().forEach((name, adder) -> values.put(name, adder.sum()));
+        values.put("holograms_restricted", provider.getHolograms().getRestrictedSpawns());
+        values.put("hologram_viewers_suppressed", provider.getHolograms().getViewersSuppressed());
+        values.put("registry_size", (long) provider.getRegistry().size());
+
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            sender.sendMessage(Component.translatable("mcclauneck.slayerrewards.command.stats.value", NamedTextColor.GRAY,
+                Component.text(entry.getKey(), NamedTextColor.YELLOW),
+                Component.text(entry.getValue())));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
 }
@@ -0,0 +1,19 @@
+package io.github.mcclauneck.slayerrewards.common;
+
+import io.github.mcclauneck.slayerrewards.api.IRewardEconomy;
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+import io.github.mcengine.mceconomy.common.MCEconomyProvider;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Deposits reward payouts into player accounts through MCEconomy.
+ */
+public class MCEconomyRewardEconomy implements IRewardEconomy {
+
+    @Override
+    public CompletableFuture<Boolean> addCoin(String playerUuid, CurrencyType currency, int amount) {
+        // Updated: Pass CurrencyType enum instead of string
+        return MCEconomyProvider.getInstance().addCoin(playerUuid, "PLAYER", currency, amount);
+    }
+}
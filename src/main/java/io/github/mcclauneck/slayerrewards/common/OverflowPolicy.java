@@ -0,0 +1,40 @@
+package io.github.mcclauneck.slayerrewards.common;
+
+import java.util.Locale;
+
+/**
+ * What the reward dispatcher does with a kill when its queue is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Add the kill to the player's coalesced batch instead of queueing its own deposit.
+     */
+    COALESCE,
+
+    /**
+     * Wait briefly for a free slot, then drop the reward if none frees up.
+     */
+    BLOCK,
+
+    /**
+     * Drop the reward and log it.
+     */
+    DROP;
+
+    /**
+     * Parses a policy from config.
+     *
+     * @param name     The configured name, case-insensitive.
+     * @param fallback The value to use when the name is missing or unknown.
+     * @return The parsed policy.
+     */
+    public static OverflowPolicy fromName(String name, OverflowPolicy fallback) {
+        if (name == null) return fallback;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
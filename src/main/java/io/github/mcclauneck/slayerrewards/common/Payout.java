@@ -0,0 +1,16 @@
+package io.github.mcclauneck.slayerrewards.common;
+
+import io.github.mcclauneck.slayerrewards.feedback.FeedbackMode;
+import io.github.mcclauneck.slayerrewards.feedback.HologramVisibility;
+import org.bukkit.Location;
+
+/**
+ * A single kill's payout, kept for per-kill feedback once the deposit succeeds.
+ *
+ * @param location   The location where the mob died.
+ * @param amount     The amount earned by this kill.
+ * @param visibility Who may see the hologram for this kill.
+ * @param feedback   How the kill's payout is shown to the player.
+ * @param startNanos The {@link System#nanoTime()} at which the kill was rewarded.
+ */
+public record Payout(Location location, int amount, HologramVisibility visibility, FeedbackMode feedback, long startNanos) {}
@@ -0,0 +1,110 @@
+package io.github.mcclauneck.slayerrewards.common;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+import org.bukkit.permissions.PermissionDefault;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player reward multipliers granted by permission nodes, such as ranks
+ * paying 1.5x or 2x, or penalties paying 0.5x.
+ * <p>
+ * A player gets the highest bonus (multiplier above 1.0) granted. Penalties
+ * (multipliers below 1.0) only apply to players without any bonus, and the
+ * lowest penalty granted wins.
+ * </p>
+ * <p>
+ * Checking every node with {@code hasPermission} on each kill is slow with
+ * deep permission inheritance, so the effective multiplier is resolved once
+ * and cached per player. Entries are dropped on join, quit and world change
+ * and expire after a TTL, which also picks up rank changes since Bukkit has no
+ * permission change event.
+ * </p>
+ */
+public class PermissionMultipliers {
+
+    private final List<Tier> tiers;
+    private final long ttlNanos;
+    private final Map<UUID, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the multiplier cache.
+     * <p>
+     * Tier nodes no plugin has registered are registered as granted to nobody
+     * by default; Bukkit would otherwise grant unknown nodes to operators, who
+     * would then all get the highest bonus and the lowest penalty.
+     * </p>
+     *
+     * @param tiers      The permission nodes and the multipliers they grant.
+     * @param ttlSeconds How long a resolved multiplier is reused.
+     */
+    public PermissionMultipliers(List<Tier> tiers, long ttlSeconds) {
+        this.tiers = List.copyOf(tiers);
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+
+        for (Tier tier : this.tiers) {
+            if (Bukkit.getPluginManager().getPermission(tier.permission()) == null) {
+                Bukkit.getPluginManager().addPermission(new Permission(tier.permission(), PermissionDefault.FALSE));
+            }
+        }
+    }
+
+    /**
+     * Gets the effective multiplier of a player, resolving it if it is not cached.
+     * Must be called on the thread owning the player.
+     *
+     * @param player The player.
+     * @return The effective multiplier, or 1.0 if no tier is granted.
+     */
+    public double get(Player player) {
+        if (tiers.isEmpty()) return 1.0;
+
+        long now = System.nanoTime();
+        Entry entry = cache.get(player.getUniqueId());
+        if (entry != null && now - entry.expiresNanos() < 0) return entry.multiplier();
+
+        double multiplier = resolve(player);
+        cache.put(player.getUniqueId(), new Entry(multiplier, now + ttlNanos));
+        return multiplier;
+    }
+
+    /**
+     * Forgets the cached multiplier of a player.
+     *
+     * @param playerUuid The UUID of the player.
+     */
+    public void invalidate(UUID playerUuid) {
+        cache.remove(playerUuid);
+    }
+
+    private double resolve(Player player) {
+        double bonus = 1.0;
+        double penalty = 1.0;
+        for (Tier tier : tiers) {
+            double multiplier = tier.multiplier();
+            // Only tiers that would change the result are worth a permission check
+            if ((multiplier > bonus || (multiplier < penalty && bonus == 1.0)) && player.hasPermission(tier.permission())) {
+                if (multiplier > 1.0) bonus = multiplier;
+                else penalty = multiplier;
+            }
+        }
+        return bonus > 1.0 ? bonus : penalty;
+    }
+
+    /**
+     * A permission node granting a reward multiplier.
+     *
+     * @param permission The permission node.
+     * @param multiplier The multiplier applied to payouts.
+     */
+    public record Tier(String permission, double multiplier) {
+    }
+
+    private record Entry(double multiplier, long expiresNanos) {
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.mcclauneck.slayerrewards.common;
+
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums payouts per (player, currency) over a short window before depositing.
+ * <p>
+ * Every MCEconomy {@code addCoin} call is a database transaction, so grinders
+ * producing several kills per second are merged into one deposit per window or
+ * per {@code maxKills} kills, whichever comes first. Each kill's own amount is
+ * kept so feedback still shows exactly what that kill earned.
+ * </p>
+ */
+public class RewardCoalescer {
+
+    private final SlayerRewardsProvider provider;
+    private final long windowMillis;
+    private final int maxKills;
+    private final Map<Key, Batch> batches = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "SlayerRewards-Coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a new coalescer.
+     *
+     * @param provider     The provider performing the actual deposits.
+     * @param windowMillis How long a batch stays open, in milliseconds.
+     * @param maxKills     The number of kills after which a batch is flushed early.
+     */
+    public RewardCoalescer(SlayerRewardsProvider provider, long windowMillis, int maxKills) {
+        this.provider = provider;
+        this.windowMillis = windowMillis;
+        this.maxKills = maxKills;
+    }
+
+    /**
+     * Adds a kill's payout to the player's open batch, opening one if needed.
+     *
+     * @param playerUuid The UUID of the killer.
+     * @param currency   The currency earned.
+     * @param payout     The kill's payout, kept for feedback.
+     */
+    public void add(String playerUuid, CurrencyType currency, Payout payout) {
+        int amount = payout.amount();
+        Key key = new Key(playerUuid, currency);
+        List<Batch> full = new ArrayList<>(1);
+        List<Batch> opened = new ArrayList<>(1);
+        boolean[] direct = new boolean[1];
+
+        // compute() makes append and hand-off atomic with respect to the timer removing the batch;
+        // closed is checked inside so a kill racing shutdown never joins a batch nobody flushes
+        batches.compute(key, (k, batch) -> {
+            if (closed) {
+                direct[0] = true;
+                return batch;
+            }
+            if (batch == null) {
+                batch = new Batch();
+                opened.add(batch);
+            }
+
+            // Flush before the sum could overflow an int deposit
+            if (batch.total + amount > Integer.MAX_VALUE) {
+                full.add(batch);
+                batch = new Batch();
+                opened.add(batch);
+            }
+
+            batch.total += amount;
+            batch.payouts.add(payout);
+
+            if (batch.payouts.size() >= maxKills) {
+                full.add(batch);
+                return null;
+            }
+            return batch;
+        });
+
+        if (direct[0]) {
+            // Late kills during shutdown are deposited on their own
+            provider.deposit(playerUuid, currency, amount, List.of(payout));
+            return;
+        }
+        for (Batch batch : opened) {
+            if (full.contains(batch)) continue;
+            try {
+                timer.schedule(() -> flush(key, batch), windowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shut down after the batch opened; deposit it unless the shutdown pass already did
+                flush(key, batch);
+            }
+        }
+        for (Batch batch : full) {
+            deposit(key, batch);
+        }
+    }
+
+    /**
+     * Flushes every open batch of a player immediately, e.g. when they quit.
+     *
+     * @param playerUuid The UUID of the player.
+     */
+    public void flushPlayer(String playerUuid) {
+        for (CurrencyType currency : CurrencyType.values()) {
+            Key key = new Key(playerUuid, currency);
+            Batch batch = batches.remove(key);
+            if (batch != null) deposit(key, batch);
+        }
+    }
+
+    /**
+     * Flushes all open batches and stops the timer.
+     * <p>
+     * Waits up to the given timeout for the issued deposits to complete so no
+     * payout is lost when the extension is disabled.
+     * </p>
+     *
+     * @param timeoutMillis The maximum time to wait for the deposits.
+     */
+    public void shutdown(long timeoutMillis) {
+        this.closed = true;
+        timer.shutdownNow();
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (Key key : new ArrayList<>(batches.keySet())) {
+            Batch batch = batches.remove(key);
+            if (batch != null) futures.add(deposit(key, batch));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception ignored) {
+            // Deposits keep running in MCEconomy; we only stop waiting for them
+        }
+    }
+
+    /**
+     * Timer callback: deposits the batch if it is still the open one for its key.
+     */
+    private void flush(Key key, Batch batch) {
+        if (batches.remove(key, batch)) {
+            deposit(key, batch);
+        }
+    }
+
+    private CompletableFuture<Boolean> deposit(Key key, Batch batch) {
+        return provider.deposit(key.playerUuid(), key.currency(), (int) batch.total, batch.payouts);
+    }
+
+    /**
+     * Identifies an open batch.
+     */
+    private record Key(String playerUuid, CurrencyType currency) {}
+
+    /**
+     * Mutable batch state; only touched inside {@code compute} or after removal.
+     */
+    private static final class Batch {
+        private long total;
+        private final List<Payout> payouts = new ArrayList<>();
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.mcclauneck.slayerrewards.common;
+
+import io.github.mcclauneck.slayerrewards.metrics.SlayerRewardsMetrics;
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dedicated, bounded executor for reward tasks.
+ * <p>
+ * Kills used to be handed to the executor shared by every MCEconomy extension
+ * without any limit, so a slow economy database let tasks pile up and starve
+ * the other extensions. This dispatcher owns its threads and admits at most
+ * {@code capacity} queued or running tasks; what happens to the kill beyond
+ * that is decided by the {@link OverflowPolicy}.
+ * </p>
+ * <p>
+ * Tasks run either on a small pool of platform threads over an
+ * {@link ArrayBlockingQueue}, or on one virtual thread each, which suits
+ * economies that block on I/O.
+ * </p>
+ * <p>
+ * {@link OverflowPolicy#BLOCK} waits on the thread handling the kill, which is
+ * the main or a region thread. Waits therefore share one budget of
+ * {@code blockMillis} per 50 ms tick window: the first overflowing kill of a
+ * window may wait the full budget, later ones only what is left of it, so a
+ * kill storm costs at most {@code blockMillis} per tick instead of per kill.
+ * </p>
+ */
+public class RewardDispatcher {
+
+    /**
+     * Length of one server tick, the window the blocking budget is shared over.
+     */
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+
+    private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+    private final ExecutorService executor;
+    // Admission control: one permit per queued or running task
+    private final Semaphore permits;
+    private final OverflowPolicy policy;
+    private final long blockMillis;
+    private final SlayerRewardsMetrics metrics;
+    private final AtomicLong lastDropLog = new AtomicLong();
+    private final AtomicLong lastStoppedLog = new AtomicLong();
+    // Tick window the blocking budget belongs to, and when that budget runs out (System.nanoTime)
+    private final AtomicLong blockWindow = new AtomicLong(Long.MIN_VALUE);
+    private volatile long blockDeadline;
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param capacity       The maximum number of queued or running reward tasks.
+     * @param threads        The number of platform threads; ignored for virtual threads.
+     * @param virtualThreads Whether every task runs on its own virtual thread.
+     * @param policy         What to do with a kill when the dispatcher is full.
+     * @param blockMillis    How long {@link OverflowPolicy#BLOCK} may wait for free slots per tick, in total.
+     * @param metrics        The metrics recording queue depth and overflows.
+     */
+    public RewardDispatcher(int capacity, int threads, boolean virtualThreads, OverflowPolicy policy, long blockMillis, SlayerRewardsMetrics metrics) {
+        this.permits = new Semaphore(capacity);
+        this.policy = policy;
+        this.blockMillis = blockMillis;
+        this.metrics = metrics;
+
+        if (virtualThreads) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("SlayerRewards-Reward-", 0).factory());
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            // Never rejects: the semaphore keeps the queue below its capacity
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), r -> {
+                    Thread thread = new Thread(r, "SlayerRewards-Reward-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+    }
+
+    /**
+     * Submits a reward task, applying the overflow policy when the dispatcher is full.
+     *
+     * @param task     The reward task.
+     * @param coalesce Adds the same reward to a coalesced batch; used by {@link OverflowPolicy#COALESCE}.
+     */
+    public void dispatch(Runnable task, Runnable coalesce) {
+        if (!permits.tryAcquire() && !overflow(coalesce)) return;
+
+        metrics.getExecutorQueued().increment();
+        try {
+            executor.execute(() -> {
+                metrics.getExecutorQueued().decrement();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shut down; nothing will run the task, but the queue was not full
+            metrics.getExecutorQueued().decrement();
+            permits.release();
+            rejectStopped();
+        }
+    }
+
+    /**
+     * Gets an executor running follow-up work, such as deposits chained onto
+     * another future, on the reward threads.
+     * <p>
+     * Such work bypasses admission control, since the kill it belongs to was
+     * already admitted. If the pool is shut down or its queue is full, the
+     * work runs on the calling thread instead of being lost.
+     * </p>
+     *
+     * @return The executor.
+     */
+    public Executor getExecutor() {
+        return task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Applies the overflow policy.
+     *
+     * @return Whether a permit was acquired after all and the task should be submitted.
+     */
+    private boolean overflow(Runnable coalesce) {
+        metrics.getRewardsOverflowed().increment();
+        switch (policy) {
+            case COALESCE -> {
+                coalesce.run();
+                return false;
+            }
+            case BLOCK -> {
+                try {
+                    long waitNanos = blockBudget();
+                    if (waitNanos > 0 && permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop();
+                return false;
+            }
+            default -> {
+                drop();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns how long a blocked kill may still wait in the current tick window,
+     * opening a fresh budget when a new window has started.
+     */
+    private long blockBudget() {
+        long now = System.nanoTime();
+        long window = now / TICK_NANOS;
+        long current = blockWindow.get();
+        if (current != window && blockWindow.compareAndSet(current, window)) {
+            blockDeadline = now + TimeUnit.MILLISECONDS.toNanos(blockMillis);
+        }
+        return blockDeadline - now;
+    }
+
+    /**
+     * Records a reward submitted after shutdown, apart from overflow drops.
+     */
+    private void rejectStopped() {
+        long now = System.currentTimeMillis();
+        long last = lastStoppedLog.get();
+        if (now - last >= 1000L && lastStoppedLog.compareAndSet(last, now)) {
+            logger.error("Reward dispatcher stopped, rewards submitted during shutdown are not paid.");
+        }
+    }
+
+    private void drop() {
+        metrics.getRewardsDropped().increment();
+        // At most one line per second; a storm would otherwise flood the console
+        long now = System.currentTimeMillis();
+        long last = lastDropLog.get();
+        if (now - last >= 1000L && lastDropLog.compareAndSet(last, now)) {
+            logger.error("Reward queue full, dropped rewards so far: " + metrics.getRewardsDropped().sum());
+        }
+    }
+
+    /**
+     * Stops accepting tasks and waits for queued and running rewards to finish.
+     *
+     * @param timeoutMillis The maximum time to wait.
+     * @return Whether every task finished in time.
+     */
+    public boolean shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,41 +1,182 @@
 package io.github.mcclauneck.slayerrewards.common;
 
 import io.github.mcclauneck.slayerrewards.api.IReward;
+import io.github.mcclauneck.slayerrewards.api.IRewardEconomy;
+import io.github.mcclauneck.slayerrewards.config.SlayerRewardsConfig;
+import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import io.github.mcclauneck.slayerrewards.feedback.BarFeedback;
+import io.github.mcclauneck.slayerrewards.feedback.FeedbackMode;
+import io.github.mcclauneck.slayerrewards.feedback.HologramFeedback;
+import io.github.mcclauneck.slayerrewards.feedback.HologramManager;
+import io.github.mcclauneck.slayerrewards.feedback.HologramVisibility;
+import io.github.mcclauneck.slayerrewards.ledger.LedgerEntry;
+import io.github.mcclauneck.slayerrewards.ledger.RewardLedger;
+import io.github.mcclauneck.slayerrewards.limiter.KillRateLimiter;
+import io.github.mcclauneck.slayerrewards.metrics.MetricsExporter;
+import io.github.mcclauneck.slayerrewards.metrics.SlayerRewardsMetrics;
+import io.github.mcclauneck.slayerrewards.region.RewardTables;
+import io.github.mcclauneck.slayerrewards.registry.IRewardSource;
+import io.github.mcclauneck.slayerrewards.registry.LoadReport;
+import io.github.mcclauneck.slayerrewards.registry.MobReward;
+import io.github.mcclauneck.slayerrewards.registry.RewardRegistry;
+import io.github.mcclauneck.slayerrewards.registry.YamlRewardSource;
+import io.github.mcclauneck.slayerrewards.storage.RewardDatabase;
+import io.github.mcclauneck.slayerrewards.storage.StorageBackend;
+import io.github.mcclauneck.slayerrewards.scheduler.ITaskScheduler;
 import io.github.mcengine.mceconomy.api.enums.CurrencyType;
-import io.github.mcengine.mceconomy.common.MCEconomyProvider;
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
-import org.bukkit.Bukkit;
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
 import org.bukkit.Location;
-import org.bukkit.configuration.file.YamlConfiguration;
-import org.bukkit.entity.Display;
-import org.bukkit.entity.TextDisplay;
+import org.bukkit.entity.EntityType;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.util.Transformation;
 
 import java.io.File;
-import java.util.concurrent.ThreadLocalRandom;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Core implementation of the SlayerRewards system.
  * <p>
- * This class handles reading mob configurations, calculating random money ranges,
- * depositing funds asynchronously via MCEconomy, and spawning visual holograms.
+ * This class owns the compiled {@link RewardRegistry}, calculates random money ranges,
+ * deposits funds asynchronously via MCEconomy, and triggers visual hologram feedback.
  */
 public class SlayerRewardsProvider implements IReward {
 
-    private final JavaPlugin plugin;
+    private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+    private final ITaskScheduler scheduler;
+    private final IRewardEconomy economy;
     private final File mobsFolder;
+    private final File databaseFile;
+    private final SlayerRewardsConfig config;
+    // Whether every kill is coalesced, or only kills overflowing the dispatcher
+    private final boolean coalesceAll;
+    // Null when neither coalescing nor the COALESCE overflow policy is enabled
+    private final RewardCoalescer coalescer;
+    private final RewardDispatcher dispatcher;
+    private final HologramManager hologramManager;
+    private final HologramFeedback holograms;
+    private final BarFeedback bars;
+    private final SlayerRewardsMetrics metrics = new SlayerRewardsMetrics();
+    // Null when the periodic export is disabled
+    private final MetricsExporter exporter;
+    // Null when the anti-farm limiter is disabled
+    private final KillRateLimiter limiter;
+    private final SpawnReasonTag spawnTag;
+    private final PermissionMultipliers multipliers;
+    // Null when the ledger is disabled or cannot be opened
+    private final RewardLedger ledger;
+    // Swapped atomically on reload; readers always see a complete table
+    private volatile RewardRegistry registry;
+    // World and region overrides, swapped the same way
+    private volatile RewardTables tables;
 
     /**
-     * Constructs a new provider and initializes the mob configuration folder.
+     * Constructs a new provider, initializes the mob configuration folder
+     * and compiles every mob file into the reward registry.
      *
      * @param plugin The host JavaPlugin instance.
      */
     public SlayerRewardsProvider(JavaPlugin plugin) {
-        this.plugin = plugin;
-        this.mobsFolder = new File(plugin.getDataFolder(), "extensions/configs/SlayerRewards/mobs");
+        this(plugin, new MCEconomyRewardEconomy());
+    }
+
+    /**
+     * Constructs a new provider depositing into the given economy.
+     *
+     * @param plugin  The host JavaPlugin instance.
+     * @param economy The economy payouts are deposited into.
+     */
+    public SlayerRewardsProvider(JavaPlugin plugin, IRewardEconomy economy) {
+        this.scheduler = ITaskScheduler.create(plugin);
+        this.economy = economy;
+        File configFolder = new File(plugin.getDataFolder(), "extensions/configs/SlayerRewards");
+        this.mobsFolder = new File(configFolder, "mobs");
+        this.databaseFile = new File(configFolder, "rewards.db");
         if (!mobsFolder.exists()) mobsFolder.mkdirs();
+        this.config = SlayerRewardsConfig.load(configFolder);
+        EditorUtil.setItemEncoding(config.getItemEncoding());
+        this.coalesceAll = config.isCoalesceEnabled();
+        this.coalescer = coalesceAll || config.getDispatchOverflow() == OverflowPolicy.COALESCE
+            ? new RewardCoalescer(this, config.getCoalesceWindowMillis(), config.getCoalesceMaxKills())
+            : null;
+        this.dispatcher = new RewardDispatcher(config.getDispatchCapacity(), config.getDispatchThreads(),
+            config.isDispatchVirtualThreads(), config.getDispatchOverflow(), config.getDispatchBlockMillis(), metrics);
+        this.hologramManager = new HologramManager(plugin, scheduler, metrics,
+            config.getHologramMaxGlobal(), config.getHologramMaxPerChunk(), config.getHologramPoolPerChunk());
+        this.holograms = new HologramFeedback(plugin, scheduler, hologramManager, config.getHologramLifetimeTicks(), config.isHologramCombo());
+        this.bars = new BarFeedback(scheduler, hologramManager.getWheel(), config.getFeedbackBarWindowTicks(), config.getFeedbackBarIntervalTicks());
+        this.exporter = config.isMetricsExportEnabled()
+            ? new MetricsExporter(metrics, configFolder, config.getMetricsExportFormat(), config.getMetricsExportIntervalSeconds())
+            : null;
+        this.limiter = config.isLimitEnabled()
+            ? new KillRateLimiter(config.getLimitChunk(), config.getLimitPlayer())
+            : null;
+        this.spawnTag = new SpawnReasonTag(plugin, config.getTaggedSpawnReasons());
+        this.multipliers = new PermissionMultipliers(config.getMultiplierTiers(), config.getMultiplierTtlSeconds());
+        // Every mob file compiles in parallel; problems end up in one summary
+        IRewardSource source = openSource();
+        LoadReport report = new LoadReport();
+        this.registry = source.load("", report);
+        this.tables = RewardTables.load(source, config.getRegions(), report);
+        report.log(logger);
+
+        this.ledger = config.isLedgerEnabled() ? openLedger(configFolder) : null;
+        if (ledger != null) replay(ledger.getRecovered());
+    }
+
+    private RewardLedger openLedger(File configFolder) {
+        try {
+            return new RewardLedger(new File(configFolder, "ledger.bin"), config.getLedgerMaxBatch(), config.getLedgerCompactBytes(),
+                config.getLedgerMaxReplays(), metrics);
+        } catch (IOException e) {
+            logger.error("Failed to open reward ledger, payouts are not logged: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Deposits the payouts a previous run logged but never got acknowledged.
+     * No holograms are shown; the kills are long gone.
+     */
+    private void replay(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) return;
+        logger.info("Replaying " + entries.size() + " unacknowledged payouts from the reward ledger.");
+        for (LedgerEntry entry : entries) {
+            metrics.getDepositsInFlight().increment();
+            economy.addCoin(entry.playerUuid(), entry.currency(), entry.amount())
+                .whenComplete((success, error) -> {
+                    metrics.getDepositsInFlight().decrement();
+                    if (error == null && Boolean.TRUE.equals(success)) {
+                        ledger.complete(entry.id());
+                        metrics.getLedgerReplayed().increment();
+                    } else {
+                        metrics.getEconomyFailures().increment();
+                    }
+                });
+        }
+    }
+
+    /**
+     * Opens the configured startup source, falling back to the YAML folder if
+     * the database is missing, unreadable or older than a mob file.
+     * <p>
+     * Reloads and live edits always read the YAML files, so a stale database
+     * would leave the registry mixing two versions of the rewards.
+     * </p>
+     */
+    private IRewardSource openSource() {
+        if (config.getStorageBackend() == StorageBackend.BINARY) {
+            if (databaseFile.exists() && RewardDatabase.isStale(mobsFolder, databaseFile)) {
+                logger.error("rewards.db is older than the mobs folder, loading the mobs folder instead; run /slayerrewards export to update it.");
+                return new YamlRewardSource(mobsFolder);
+            }
+            try {
+                return RewardDatabase.open(databaseFile);
+            } catch (IOException e) {
+                logger.error("Failed to open rewards.db, loading the mobs folder instead: " + e.getMessage());
+            }
+        }
+        return new YamlRewardSource(mobsFolder);
     }
 
     /**
@@ -47,11 +188,168 @@ public class SlayerRewardsProvider implements IReward {
         return this.mobsFolder;
     }
 
+    /**
+     * Gets the extension-wide settings.
+     *
+     * @return The loaded settings.
+     */
+    public SlayerRewardsConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Gets the scheduler matching the running server (Bukkit or Folia).
+     *
+     * @return The task scheduler.
+     */
+    public ITaskScheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Gets the hologram feedback channel.
+     *
+     * @return The hologram feedback.
+     */
+    public HologramFeedback getHolograms() {
+        return this.holograms;
+    }
+
+    /**
+     * Gets the manager owning every hologram display.
+     *
+     * @return The hologram manager.
+     */
+    public HologramManager getHologramManager() {
+        return this.hologramManager;
+    }
+
+    /**
+     * Gets the hot-path metrics.
+     *
+     * @return The metrics.
+     */
+    public SlayerRewardsMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Gets the anti-farm kill-rate limiter.
+     *
+     * @return The limiter, or null when it is disabled.
+     */
+    public KillRateLimiter getLimiter() {
+        return this.limiter;
+    }
+
+    /**
+     * Gets the tag marking spawner and spawn egg mobs.
+     *
+     * @return The spawn reason tag.
+     */
+    public SpawnReasonTag getSpawnTag() {
+        return this.spawnTag;
+    }
+
+    /**
+     * Gets the cached permission-based reward multipliers.
+     *
+     * @return The multipliers.
+     */
+    public PermissionMultipliers getMultipliers() {
+        return this.multipliers;
+    }
+
+    /**
+     * Gets the current compiled reward registry.
+     *
+     * @return The live registry snapshot.
+     */
+    public RewardRegistry getRegistry() {
+        return this.registry;
+    }
+
+    /**
+     * Resolves the reward of a kill, preferring region and world tables over the global one.
+     *
+     * @param type     The entity type killed.
+     * @param location The location of the kill.
+     * @return The reward, or null if the mob pays nothing there.
+     */
+    public MobReward resolve(EntityType type, Location location) {
+        MobReward reward = tables.get(type, location);
+        return reward != null ? reward : registry.get(type);
+    }
+
+    /**
+     * Recompiles the entire mobs folder and swaps in the new registry.
+     * <p>
+     * Reloads always read the YAML files, which stay the editable source
+     * even when startup loads from the binary database; startup only uses a
+     * database at least as new as every YAML file, so both agree.
+     * </p>
+     */
+    public synchronized void reload() {
+        IRewardSource source = new YamlRewardSource(mobsFolder);
+        LoadReport report = new LoadReport();
+        this.registry = source.load("", report);
+        this.tables = RewardTables.load(source, config.getRegions(), report);
+        report.log(logger);
+    }
+
+    /**
+     * Recompiles the world and region tables from the YAML files and swaps them in.
+     */
+    public void reloadTables() {
+        LoadReport report = new LoadReport();
+        this.tables = RewardTables.load(new YamlRewardSource(mobsFolder), config.getRegions(), report);
+        if (!report.isEmpty()) report.log(logger);
+    }
+
+    /**
+     * Compiles the mobs folder tree into the binary database.
+     *
+     * @return The number of mob files exported.
+     * @throws IOException If the database cannot be written.
+     */
+    public int exportDatabase() throws IOException {
+        return RewardDatabase.export(mobsFolder, databaseFile);
+    }
+
+    /**
+     * Writes the binary database back out into the mobs folder tree.
+     *
+     * @return The number of mob files written.
+     * @throws IOException If the database cannot be read or a file cannot be written.
+     */
+    public int importDatabase() throws IOException {
+        return RewardDatabase.importTo(databaseFile, mobsFolder);
+    }
+
+    /**
+     * Recompiles a single mob file and swaps the entry into the live registry.
+     *
+     * @param mobName The name of the mob file (without .yml).
+     */
+    public void reloadMob(String mobName) {
+        EntityType type = RewardRegistry.resolveType(mobName);
+        if (type == null) return;
+
+        LoadReport report = new LoadReport();
+        MobReward reward = RewardRegistry.compileFile(type, new File(mobsFolder, mobName.toLowerCase() + ".yml"), report);
+        if (!report.isEmpty()) report.log(logger);
+        // Keep serving the previous reward while a file is half-written
+        if (report.count(LoadReport.Problem.UNREADABLE_FILE) > 0) return;
+        synchronized (this) {
+            this.registry = this.registry.with(type, reward);
+        }
+    }
+
     /**
      * Processes the reward transaction.
      * <p>
-     * This method calculates the amount, deposits it asynchronously, and callbacks
-     * to the main thread to spawn a hologram upon success.
+     * This method calculates the amount, deposits it asynchronously (or hands it to the
+     * coalescer when enabled), and callbacks to the main thread to spawn a hologram upon success.
      *
      * @param playerUuid   The UUID of the killer.
      * @param mobType      The type of mob killed.
@@ -59,104 +357,144 @@ public class SlayerRewardsProvider implements IReward {
      */
     @Override
     public void rewardMoney(String playerUuid, String mobType, Location dropLocation) {
-        int amount = getMoney(mobType);
+        MobReward reward = registry.get(mobType);
+        if (reward != null) {
+            rewardMoney(playerUuid, reward, dropLocation);
+        }
+    }
+
+    /**
+     * Queues the reward of a kill on the bounded reward dispatcher.
+     * <p>
+     * If the dispatcher is full, the configured overflow policy decides whether
+     * the kill joins the player's coalesced batch, waits briefly, or is dropped.
+     * </p>
+     *
+     * @param playerUuid   The UUID of the killer.
+     * @param reward       The compiled reward of the mob killed.
+     * @param dropLocation The location to spawn the hologram.
+     * @param multiplier   The factor applied to the rolled amount (rank multiplier and anti-farm limiter).
+     */
+    public void dispatchReward(String playerUuid, MobReward reward, Location dropLocation, double multiplier) {
+        dispatcher.dispatch(
+            () -> rewardMoney(playerUuid, reward, dropLocation, multiplier, coalesceAll),
+            () -> rewardMoney(playerUuid, reward, dropLocation, multiplier, true)
+        );
+    }
+
+    /**
+     * Processes the reward transaction for an already resolved reward.
+     *
+     * @param playerUuid   The UUID of the killer.
+     * @param reward       The compiled reward of the mob killed.
+     * @param dropLocation The location to spawn the hologram.
+     */
+    public void rewardMoney(String playerUuid, MobReward reward, Location dropLocation) {
+        rewardMoney(playerUuid, reward, dropLocation, 1.0, coalesceAll);
+    }
+
+    private void rewardMoney(String playerUuid, MobReward reward, Location dropLocation, double multiplier, boolean coalesce) {
+        long start = System.nanoTime();
+        int amount = multiplier == 1.0 ? reward.rollAmount() : (int) Math.round(reward.rollAmount() * multiplier);
         if (amount <= 0) return;
 
-        CurrencyType currency = getCurrency(mobType);
+        CurrencyType currency = reward.currency();
+        HologramVisibility visibility = reward.visibility() != null ? reward.visibility() : config.getHologramVisibility();
+        Payout payout = new Payout(dropLocation, amount, visibility, feedbackMode(reward, dropLocation), start);
 
-        // Updated: Pass CurrencyType enum instead of string
-        MCEconomyProvider.getInstance()
-            .addCoin(playerUuid, "PLAYER", currency, amount)
-            .thenAccept(success -> {
-                if (success) {
-                    // Jump back to Main Thread to spawn Entity
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        spawnHologram(dropLocation, amount, currency);
-                    });
-                }
-            });
+        if (coalesce && coalescer != null) {
+            coalescer.add(playerUuid, currency, payout);
+            return;
+        }
+
+        deposit(playerUuid, currency, amount, List.of(payout));
     }
 
     /**
-     * Spawns a temporary TextDisplay entity at the drop location.
-     *
-     * @param loc    The base location of the mob's death.
-     * @param amount   The amount of money gained.
-     * @param currency The currency type gained.
-     */
-    private void spawnHologram(Location loc, int amount, CurrencyType currency) {
-        // Offset location slightly up so it doesn't spawn in the ground
-        Location spawnLoc = loc.add(0, 1.5, 0);
-
-        // Spawn TextDisplay (1.19.4+ feature, perfect for 1.21)
-        TextDisplay display = loc.getWorld().spawn(spawnLoc, TextDisplay.class, text -> {
-            text.text(Component.text()
-                .append(Component.text("+", NamedTextColor.GREEN))
-                .append(Component.text(amount, NamedTextColor.GREEN))
-                .append(Component.space())
-                .append(Component.text(currency.getName(), NamedTextColor.GREEN))
-                .build());
-            
-            text.setBillboard(Display.Billboard.CENTER); // Always face player
-            text.setViewRange(10.0f);
-            text.setBackgroundColor(org.bukkit.Color.fromARGB(0, 0, 0, 0)); // Transparent bg
-            text.setShadowed(true);
-            
-            // Optional: Make it slightly larger
-            Transformation transformation = text.getTransformation();
-            transformation.getScale().set(1.5f, 1.5f, 1.5f);
-            text.setTransformation(transformation);
-        });
-
-        // Remove after 1.5 seconds (30 ticks)
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (display.isValid()) {
-                display.remove();
-            }
-        }, 30L);
+     * Picks the feedback mode of a kill: the mob's own setting, then its world's, then the default.
+     */
+    private FeedbackMode feedbackMode(MobReward reward, Location location) {
+        if (reward.feedback() != null) return reward.feedback();
+        FeedbackMode world = config.getFeedbackWorlds().get(location.getWorld().getName());
+        return world != null ? world : config.getFeedbackMode();
     }
 
     /**
-     * Reads the mob configuration file to determine the reward amount.
-     * Supports fixed values (e.g., "10") and ranges (e.g., "10-20").
+     * Deposits money via the economy and shows the feedback of every included kill on success.
+     * <p>
+     * With the ledger enabled, the deposit is only issued once the payout is
+     * logged on disk, and logged as done once the economy acknowledges it;
+     * failed deposits stay pending and are paid again on the next start.
+     * </p>
      *
-     * @param mobType The name of the mob file to read.
-     * @return The calculated money amount, or 0 if invalid.
+     * @param playerUuid The UUID of the player to pay.
+     * @param currency   The currency to deposit.
+     * @param amount     The total amount to deposit.
+     * @param payouts    The individual kills covered by this deposit.
+     * @return A future completing with whether the deposit succeeded.
      */
-    private int getMoney(String mobType) {
-        File mobFile = new File(mobsFolder, mobType.toLowerCase() + ".yml");
-        if (!mobFile.exists()) return 0;
-
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(mobFile);
-        String amountRaw = config.getString("amount", "0");
-
-        try {
-            if (amountRaw.contains("-")) {
-                String[] parts = amountRaw.split("-");
-                int min = Integer.parseInt(parts[0].trim());
-                int max = Integer.parseInt(parts[1].trim());
-                return ThreadLocalRandom.current().nextInt(min, max + 1);
-            } else {
-                return Integer.parseInt(amountRaw);
-            }
-        } catch (NumberFormatException e) { return 0; }
+    public CompletableFuture<Boolean> deposit(String playerUuid, CurrencyType currency, int amount, List<Payout> payouts) {
+        metrics.getDepositsInFlight().increment();
+        CompletableFuture<Boolean> result = ledger == null
+            ? economy.addCoin(playerUuid, currency, amount)
+            // Leave the ledger writer thread at once; it must not wait on the economy
+            : ledger.append(playerUuid, currency, amount).thenComposeAsync(id -> economy.addCoin(playerUuid, currency, amount)
+                .whenComplete((success, error) -> {
+                    if (error == null && Boolean.TRUE.equals(success)) ledger.complete(id);
+                }), dispatcher.getExecutor());
+        return result
+            .whenComplete((success, error) -> {
+                metrics.getDepositsInFlight().decrement();
+                if (error != null || !Boolean.TRUE.equals(success)) metrics.getEconomyFailures().increment();
+                for (Payout payout : payouts) metrics.getPayout().recordSince(payout.startNanos());
+            })
+            .thenApply(success -> {
+                if (success) {
+                    for (Payout payout : payouts) {
+                        switch (payout.feedback()) {
+                            // Jump back to the thread owning the location (main thread, or region on Folia) to spawn Entity
+                            case HOLOGRAM -> scheduler.runAt(payout.location(), () -> holograms.show(playerUuid, payout, currency));
+                            case ACTION_BAR, BOSS_BAR -> bars.show(playerUuid, payout, currency);
+                            case NONE -> { }
+                        }
+                    }
+                }
+                return success;
+            });
     }
 
     /**
-     * Reads the mob configuration file to determine the currency type.
+     * Deposits any coalesced payouts of a player immediately.
      *
-     * @param mobType The name of the mob file to read.
-     * @return The CurrencyType enum. Defaults to COIN.
+     * @param playerUuid The UUID of the player.
+     */
+    public void flushPlayer(String playerUuid) {
+        if (coalescer != null) coalescer.flushPlayer(playerUuid);
+    }
+
+    /**
+     * Deposits all pending payouts and releases background resources.
      */
-    private CurrencyType getCurrency(String mobType) {
-        File mobFile = new File(mobsFolder, mobType.toLowerCase() + ".yml");
-        if (!mobFile.exists()) return CurrencyType.COIN;
-        
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(mobFile);
-        String currencyStr = config.getString("currency", "coin");
-        
-        // Updated: Convert string to Enum
-        CurrencyType type = CurrencyType.fromName(currencyStr);
-        return type != null ? type : CurrencyType.COIN;
+    public void shutdown() {
+        // Queued rewards may still add to coalesced batches, so drain them first
+        dispatcher.shutdown(5000L);
+        if (coalescer != null) coalescer.shutdown(5000L);
+        if (ledger != null) {
+            // Deposits acknowledged after the ledger closes would be paid again on the next start
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (metrics.getDepositsInFlight().sum() > 0 && System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(10L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            ledger.close(5000L);
+        }
+        if (exporter != null) exporter.close();
+        if (limiter != null) limiter.close();
+        bars.shutdown();
+        hologramManager.shutdown();
     }
 }
@@ -0,0 +1,81 @@
+package io.github.mcclauneck.slayerrewards.common;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Persistent marker recording why a mob was spawned.
+ * <p>
+ * Only the configured spawn reasons (spawners and spawn eggs by default) are
+ * stamped, so natural mobs carry no extra data and reading the tag on a kill
+ * is a single PersistentDataContainer lookup with a key built once. The reason
+ * is stored by name so tags survive server updates reordering the enum.
+ * </p>
+ */
+public class SpawnReasonTag {
+
+    private final NamespacedKey key;
+    private final Set<SpawnReason> tagged;
+
+    /**
+     * Creates the tag for the given spawn reasons.
+     *
+     * @param plugin The host plugin owning the key.
+     * @param tagged The spawn reasons to stamp onto mobs.
+     */
+    public SpawnReasonTag(JavaPlugin plugin, Set<SpawnReason> tagged) {
+        this.key = new NamespacedKey(plugin, "slayerrewards_spawn_reason");
+        this.tagged = tagged;
+    }
+
+    /**
+     * @return Whether any spawn reason is tagged at all.
+     */
+    public boolean isEnabled() {
+        return !tagged.isEmpty();
+    }
+
+    /**
+     * Stamps the spawn reason onto a mob if it is one of the tagged reasons.
+     *
+     * @param entity The spawned mob.
+     * @param reason Why it was spawned.
+     */
+    public void tag(Entity entity, SpawnReason reason) {
+        if (!tagged.contains(reason)) return;
+        entity.getPersistentDataContainer().set(key, PersistentDataType.STRING, reason.name());
+    }
+
+    /**
+     * Reads the spawn reason stamped onto a mob.
+     *
+     * @param entity The mob.
+     * @return The tagged spawn reason, or null for untagged mobs.
+     */
+    public SpawnReason read(Entity entity) {
+        PersistentDataContainer container = entity.getPersistentDataContainer();
+        String name = container.get(key, PersistentDataType.STRING);
+        return name != null ? parse(name) : null;
+    }
+
+    /**
+     * Parses a spawn reason name.
+     *
+     * @param name The name, case-insensitive.
+     * @return The spawn reason, or null if the name is unknown.
+     */
+    public static SpawnReason parse(String name) {
+        try {
+            return SpawnReason.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
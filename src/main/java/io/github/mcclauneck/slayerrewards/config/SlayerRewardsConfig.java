@@ -0,0 +1,533 @@
+package io.github.mcclauneck.slayerrewards.config;
+
+import io.github.mcclauneck.slayerrewards.common.OverflowPolicy;
+import io.github.mcclauneck.slayerrewards.common.PermissionMultipliers;
+import io.github.mcclauneck.slayerrewards.common.SpawnReasonTag;
+import io.github.mcclauneck.slayerrewards.editor.util.ItemEncoding;
+import io.github.mcclauneck.slayerrewards.feedback.FeedbackMode;
+import io.github.mcclauneck.slayerrewards.feedback.HologramVisibility;
+import io.github.mcclauneck.slayerrewards.limiter.KillRateLimiter;
+import io.github.mcclauneck.slayerrewards.metrics.MetricsFormat;
+import io.github.mcclauneck.slayerrewards.region.Region;
+import io.github.mcclauneck.slayerrewards.storage.StorageBackend;
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Extension-wide settings read from {@code extensions/configs/SlayerRewards/config.yml}.
+ * <p>
+ * Missing keys are filled with their defaults and written back, so the file
+ * always documents every available option. Values are read once at load time.
+ * </p>
+ */
+public class SlayerRewardsConfig {
+
+    private static final MCExtensionLogger LOGGER = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+
+    private final boolean coalesceEnabled;
+    private final long coalesceWindowMillis;
+    private final int coalesceMaxKills;
+    private final int dispatchCapacity;
+    private final int dispatchThreads;
+    private final boolean dispatchVirtualThreads;
+    private final OverflowPolicy dispatchOverflow;
+    private final long dispatchBlockMillis;
+    private final boolean limitEnabled;
+    private final KillRateLimiter.Rule limitChunk;
+    private final KillRateLimiter.Rule limitPlayer;
+    private final boolean limitDrops;
+    private final List<PermissionMultipliers.Tier> multiplierTiers;
+    private final long multiplierTtlSeconds;
+    private final Set<SpawnReason> taggedSpawnReasons;
+    private final List<Region> regions;
+    private final long hologramLifetimeTicks;
+    private final boolean hologramCombo;
+    private final HologramVisibility hologramVisibility;
+    private final int hologramMaxGlobal;
+    private final int hologramMaxPerChunk;
+    private final int hologramPoolPerChunk;
+    private final FeedbackMode feedbackMode;
+    private final Map<String, FeedbackMode> feedbackWorlds;
+    private final long feedbackBarWindowTicks;
+    private final long feedbackBarIntervalTicks;
+    private final ItemEncoding itemEncoding;
+    private final StorageBackend storageBackend;
+    private final long editorWriteDelayMillis;
+    private final boolean ledgerEnabled;
+    private final int ledgerMaxBatch;
+    private final long ledgerCompactBytes;
+    private final int ledgerMaxReplays;
+    private final boolean metricsExportEnabled;
+    private final MetricsFormat metricsExportFormat;
+    private final long metricsExportIntervalSeconds;
+
+    private SlayerRewardsConfig(YamlConfiguration config) {
+        this.coalesceEnabled = config.getBoolean("reward.coalesce.enabled");
+        this.coalesceWindowMillis = Math.max(1L, config.getLong("reward.coalesce.window_millis"));
+        this.coalesceMaxKills = Math.max(1, config.getInt("reward.coalesce.max_kills"));
+        this.dispatchCapacity = Math.max(1, config.getInt("reward.dispatch.capacity"));
+        this.dispatchThreads = Math.max(1, config.getInt("reward.dispatch.threads"));
+        this.dispatchVirtualThreads = config.getBoolean("reward.dispatch.virtual_threads");
+        this.dispatchOverflow = OverflowPolicy.fromName(config.getString("reward.dispatch.overflow"), OverflowPolicy.COALESCE);
+        this.dispatchBlockMillis = Math.max(0L, config.getLong("reward.dispatch.block_millis"));
+        this.limitEnabled = config.getBoolean("reward.limit.enabled");
+        this.limitChunk = rule(config, "reward.limit.chunk");
+        this.limitPlayer = rule(config, "reward.limit.player");
+        this.limitDrops = config.getBoolean("reward.limit.drops");
+        this.multiplierTiers = tiers(config.getStringList("reward.multiplier.tiers"));
+        this.multiplierTtlSeconds = Math.max(1L, config.getLong("reward.multiplier.ttl_seconds"));
+        this.taggedSpawnReasons = spawnReasons(config.getStringList("spawn_reasons.tagged"));
+        this.regions = regions(config.getConfigurationSection("regions"));
+        this.hologramLifetimeTicks = Math.max(1L, config.getLong("hologram.lifetime_ticks"));
+        this.hologramCombo = config.getBoolean("hologram.combo");
+        this.hologramVisibility = HologramVisibility.fromName(config.getString("hologram.visibility"), HologramVisibility.ALL);
+        this.hologramMaxGlobal = Math.max(1, config.getInt("hologram.max_global"));
+        this.hologramMaxPerChunk = Math.max(1, config.getInt("hologram.max_per_chunk"));
+        this.hologramPoolPerChunk = Math.max(0, config.getInt("hologram.pool_per_chunk"));
+        this.feedbackMode = FeedbackMode.fromName(config.getString("feedback.mode"), FeedbackMode.HOLOGRAM);
+        this.feedbackWorlds = feedbackWorlds(config.getConfigurationSection("feedback.worlds"));
+        this.feedbackBarWindowTicks = Math.max(1L, config.getLong("feedback.bar.window_ticks"));
+        this.feedbackBarIntervalTicks = Math.max(1L, config.getLong("feedback.bar.interval_ticks"));
+        this.itemEncoding = ItemEncoding.fromName(config.getString("storage.item_encoding"), ItemEncoding.BINARY);
+        this.storageBackend = StorageBackend.fromName(config.getString("storage.backend"), StorageBackend.YAML);
+        this.editorWriteDelayMillis = Math.max(0L, config.getLong("editor.write_delay_millis"));
+        this.ledgerEnabled = config.getBoolean("ledger.enabled");
+        this.ledgerMaxBatch = Math.max(1, config.getInt("ledger.max_batch"));
+        this.ledgerCompactBytes = Math.max(4096L, config.getLong("ledger.compact_bytes"));
+        this.ledgerMaxReplays = Math.max(1, config.getInt("ledger.max_replays"));
+        this.metricsExportEnabled = config.getBoolean("metrics.export.enabled");
+        this.metricsExportFormat = MetricsFormat.fromName(config.getString("metrics.export.format"), MetricsFormat.PROMETHEUS);
+        this.metricsExportIntervalSeconds = Math.max(1L, config.getLong("metrics.export.interval_seconds"));
+    }
+
+    private static List<PermissionMultipliers.Tier> tiers(List<String> entries) {
+        List<PermissionMultipliers.Tier> tiers = new ArrayList<>();
+        for (String entry : entries) {
+            int split = entry.lastIndexOf('=');
+            if (split <= 0) continue;
+            try {
+                double multiplier = Double.parseDouble(entry.substring(split + 1).trim());
+                if (multiplier > 0) tiers.add(new PermissionMultipliers.Tier(entry.substring(0, split).trim(), multiplier));
+            } catch (NumberFormatException ignored) {
+                // Skip malformed entries
+            }
+        }
+        return List.copyOf(tiers);
+    }
+
+    private static List<Region> regions(ConfigurationSection section) {
+        if (section == null) return List.of();
+        List<Region> regions = new ArrayList<>();
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection regionSection = section.getConfigurationSection(name);
+            Region region = regionSection != null ? Region.parse(name, regionSection) : null;
+            if (region != null) regions.add(region);
+        }
+        return List.copyOf(regions);
+    }
+
+    private static Map<String, FeedbackMode> feedbackWorlds(ConfigurationSection section) {
+        if (section == null) return Map.of();
+        Map<String, FeedbackMode> worlds = new HashMap<>();
+        for (String world : section.getKeys(false)) {
+            FeedbackMode mode = FeedbackMode.fromName(section.getString(world), null);
+            if (mode != null) worlds.put(world, mode);
+        }
+        return Map.copyOf(worlds);
+    }
+
+    private static Set<SpawnReason> spawnReasons(List<String> names) {
+        Set<SpawnReason> reasons = EnumSet.noneOf(SpawnReason.class);
+        for (String name : names) {
+            SpawnReason reason = SpawnReasonTag.parse(name);
+            if (reason != null) reasons.add(reason);
+        }
+        return Collections.unmodifiableSet(reasons);
+    }
+
+    private static KillRateLimiter.Rule rule(YamlConfiguration config, String path) {
+        double soft = Math.max(0.0, config.getDouble(path + ".soft_limit"));
+        double hard = Math.max(soft + 1.0, config.getDouble(path + ".hard_limit"));
+        return new KillRateLimiter.Rule(Math.max(0.0, config.getDouble(path + ".kills_per_minute")), soft, hard);
+    }
+
+    /**
+     * Loads the settings file, creating it with defaults if it does not exist.
+     *
+     * @param folder The extension configuration folder.
+     * @return The loaded settings.
+     */
+    public static SlayerRewardsConfig load(File folder) {
+        File file = new File(folder, "config.yml");
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+
+        // Reward Coalescing
+        config.addDefault("reward.coalesce.enabled", false);
+        config.addDefault("reward.coalesce.window_millis", 500L);
+        config.addDefault("reward.coalesce.max_kills", 20);
+
+        // Reward Dispatch
+        // Maximum queued or running reward tasks before the overflow policy applies
+        config.addDefault("reward.dispatch.capacity", 10000);
+        config.addDefault("reward.dispatch.threads", 2);
+        // Run every reward task on its own virtual thread instead of the thread pool
+        config.addDefault("reward.dispatch.virtual_threads", false);
+        // COALESCE, BLOCK (wait up to block_millis, then drop) or DROP
+        // BLOCK waits on the main or region thread; block_millis is shared by all kills of a tick
+        config.addDefault("reward.dispatch.overflow", "COALESCE");
+        config.addDefault("reward.dispatch.block_millis", 20L);
+
+        // Anti-Farm Limiter
+        // Kills beyond soft_limit earn less and less, down to nothing at hard_limit;
+        // the counts drain at kills_per_minute, the rate a player may keep up forever
+        config.addDefault("reward.limit.enabled", false);
+        config.addDefault("reward.limit.chunk.kills_per_minute", 30.0);
+        config.addDefault("reward.limit.chunk.soft_limit", 40.0);
+        config.addDefault("reward.limit.chunk.hard_limit", 120.0);
+        config.addDefault("reward.limit.player.kills_per_minute", 60.0);
+        config.addDefault("reward.limit.player.soft_limit", 80.0);
+        config.addDefault("reward.limit.player.hard_limit", 240.0);
+        // Whether custom drops thin out along with the money
+        config.addDefault("reward.limit.drops", true);
+
+        // Permission Multipliers
+        // "<permission>=<multiplier>", e.g. "slayerrewards.multiplier.vip=1.5"; a player gets the highest
+        // bonus granted, or without any bonus the lowest penalty (below 1.0) granted. Nodes no plugin
+        // registers are registered as granted to nobody, so operators only get tiers given explicitly
+        config.addDefault("reward.multiplier.tiers", List.of());
+        // Rank changes are picked up after at most this long, or on rejoin and world change
+        config.addDefault("reward.multiplier.ttl_seconds", 300L);
+
+        // Spawn Reasons
+        // Mobs spawned for these reasons are tagged and pay no money (their drops still apply), unless
+        // their mob file has a spawn_reasons.<REASON> section; keys that section leaves out are taken from the mob
+        // Spawner minecarts report SPAWNER; trial chamber mobs (TRIAL_SPAWNER) are regular gameplay and keep paying
+        config.addDefault("spawn_reasons.tagged", List.of("SPAWNER", "SPAWNER_EGG"));
+
+        // Regions
+        // regions.<name>: { world, min: "x,y,z", max: "x,y,z", priority }, paying from mobs/regions/<name>/;
+        // worlds pay from mobs/worlds/<world>/ without any setting here
+        config.addDefault("regions", Collections.emptyMap());
+
+        // Hologram Feedback
+        config.addDefault("hologram.lifetime_ticks", 30L);
+        config.addDefault("hologram.combo", false);
+        // ALL, KILLER or TEAM; mob files may override it with their own hologram.visibility
+        config.addDefault("hologram.visibility", "ALL");
+        // Payouts beyond these caps show no hologram
+        config.addDefault("hologram.max_global", 512);
+        config.addDefault("hologram.max_per_chunk", 16);
+        // Expired ALL-visibility displays kept hidden per chunk for reuse; 0 removes them instead
+        config.addDefault("hologram.pool_per_chunk", 8);
+
+        // Payout Feedback
+        // HOLOGRAM, ACTION_BAR, BOSS_BAR or NONE; mob files may override it with their own feedback.mode
+        config.addDefault("feedback.mode", "HOLOGRAM");
+        // feedback.worlds.<world>: mode, e.g. ACTION_BAR for heavy-farm worlds that should spawn no entities
+        config.addDefault("feedback.worlds", Collections.emptyMap());
+        // Action and boss bars show the total earned within this window after the last kill
+        config.addDefault("feedback.bar.window_ticks", 60L);
+        // Minimum ticks between two bar updates of the same player
+        config.addDefault("feedback.bar.interval_ticks", 5L);
+
+        // Storage
+        // LEGACY (YAML in Base64), BINARY or BINARY_GZIP; existing values are always read in any format
+        config.addDefault("storage.item_encoding", "BINARY");
+        // YAML, or BINARY to load all rewards at startup from rewards.db (see /slayerrewards export);
+        // the YAML files stay the editable source and edits still apply live. A rewards.db older
+        // than any mob file is ignored in favour of the mobs folder until it is exported again
+        config.addDefault("storage.backend", "YAML");
+
+        // Editor
+        // Edits made in the GUI are collected this long before the mob file is rewritten
+        config.addDefault("editor.write_delay_millis", 500L);
+
+        // Reward Ledger
+        // Logs every payout to ledger.bin before depositing; unacknowledged payouts are paid again on startup
+        config.addDefault("ledger.enabled", false);
+        // Records covered by one fsync at most
+        config.addDefault("ledger.max_batch", 512);
+        // The ledger is rewritten with only the unacknowledged payouts above this size
+        config.addDefault("ledger.compact_bytes", 4194304L);
+        // Payouts still unacknowledged after this many startup replays are dropped and logged
+        config.addDefault("ledger.max_replays", 5);
+
+        // Metrics
+        // Writes metrics.prom (PROMETHEUS) or metrics.json (JSON) next to this file
+        config.addDefault("metrics.export.enabled", false);
+        config.addDefault("metrics.export.format", "PROMETHEUS");
+        config.addDefault("metrics.export.interval_seconds", 60L);
+
+        config.options().copyDefaults(true);
+        try {
+            config.save(file);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save config.yml: " + e.getMessage());
+        }
+        return new SlayerRewardsConfig(config);
+    }
+
+    /**
+     * @return Whether payouts are summed per player and currency before depositing.
+     */
+    public boolean isCoalesceEnabled() {
+        return coalesceEnabled;
+    }
+
+    /**
+     * @return How long a coalesced batch stays open, in milliseconds.
+     */
+    public long getCoalesceWindowMillis() {
+        return coalesceWindowMillis;
+    }
+
+    /**
+     * @return The number of kills after which a batch is flushed early.
+     */
+    public int getCoalesceMaxKills() {
+        return coalesceMaxKills;
+    }
+
+    /**
+     * @return The maximum number of queued or running reward tasks.
+     */
+    public int getDispatchCapacity() {
+        return dispatchCapacity;
+    }
+
+    /**
+     * @return The number of platform threads running reward tasks.
+     */
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    /**
+     * @return Whether reward tasks run on virtual threads.
+     */
+    public boolean isDispatchVirtualThreads() {
+        return dispatchVirtualThreads;
+    }
+
+    /**
+     * @return What happens to a kill when the reward dispatcher is full.
+     */
+    public OverflowPolicy getDispatchOverflow() {
+        return dispatchOverflow;
+    }
+
+    /**
+     * @return How long the BLOCK policy may wait for free slots per tick, in milliseconds.
+     */
+    public long getDispatchBlockMillis() {
+        return dispatchBlockMillis;
+    }
+
+    /**
+     * @return Whether the anti-farm kill-rate limiter is enabled.
+     */
+    public boolean isLimitEnabled() {
+        return limitEnabled;
+    }
+
+    /**
+     * @return The kill-rate limits per chunk.
+     */
+    public KillRateLimiter.Rule getLimitChunk() {
+        return limitChunk;
+    }
+
+    /**
+     * @return The kill-rate limits per player.
+     */
+    public KillRateLimiter.Rule getLimitPlayer() {
+        return limitPlayer;
+    }
+
+    /**
+     * @return Whether limited kills also lose custom drops.
+     */
+    public boolean isLimitDrops() {
+        return limitDrops;
+    }
+
+    /**
+     * @return The permission nodes granting reward multipliers.
+     */
+    public List<PermissionMultipliers.Tier> getMultiplierTiers() {
+        return multiplierTiers;
+    }
+
+    /**
+     * @return How long a player's resolved multiplier is cached, in seconds.
+     */
+    public long getMultiplierTtlSeconds() {
+        return multiplierTtlSeconds;
+    }
+
+    /**
+     * @return The spawn reasons stamped onto mobs so their kills are treated separately.
+     */
+    public Set<SpawnReason> getTaggedSpawnReasons() {
+        return taggedSpawnReasons;
+    }
+
+    /**
+     * @return The cuboid regions with their own reward tables.
+     */
+    public List<Region> getRegions() {
+        return regions;
+    }
+
+    /**
+     * @return How long a hologram stays after the last payout it shows, in ticks.
+     */
+    public long getHologramLifetimeTicks() {
+        return hologramLifetimeTicks;
+    }
+
+    /**
+     * @return Whether a player's consecutive payouts merge into one live-updating hologram.
+     */
+    public boolean isHologramCombo() {
+        return hologramCombo;
+    }
+
+    /**
+     * @return The default hologram visibility for mobs without their own setting.
+     */
+    public HologramVisibility getHologramVisibility() {
+        return hologramVisibility;
+    }
+
+    /**
+     * @return The maximum number of holograms shown at once across all worlds.
+     */
+    public int getHologramMaxGlobal() {
+        return hologramMaxGlobal;
+    }
+
+    /**
+     * @return The maximum number of holograms shown at once in a single chunk.
+     */
+    public int getHologramMaxPerChunk() {
+        return hologramMaxPerChunk;
+    }
+
+    /**
+     * @return How many expired displays each chunk keeps hidden for reuse.
+     */
+    public int getHologramPoolPerChunk() {
+        return hologramPoolPerChunk;
+    }
+
+    /**
+     * @return The default feedback mode for worlds and mobs without their own setting.
+     */
+    public FeedbackMode getFeedbackMode() {
+        return feedbackMode;
+    }
+
+    /**
+     * @return The feedback mode overrides by world name.
+     */
+    public Map<String, FeedbackMode> getFeedbackWorlds() {
+        return feedbackWorlds;
+    }
+
+    /**
+     * @return How long after the last kill a bar keeps adding to its running total, in ticks.
+     */
+    public long getFeedbackBarWindowTicks() {
+        return feedbackBarWindowTicks;
+    }
+
+    /**
+     * @return The minimum number of ticks between two bar updates of the same player.
+     */
+    public long getFeedbackBarIntervalTicks() {
+        return feedbackBarIntervalTicks;
+    }
+
+    /**
+     * @return The encoding used when drop items are written to mob files.
+     */
+    public ItemEncoding getItemEncoding() {
+        return itemEncoding;
+    }
+
+    /**
+     * @return Where mob rewards are read from at startup.
+     */
+    public StorageBackend getStorageBackend() {
+        return storageBackend;
+    }
+
+    /**
+     * @return How long editor changes are collected before the mob file is written, in milliseconds.
+     */
+    public long getEditorWriteDelayMillis() {
+        return editorWriteDelayMillis;
+    }
+
+    /**
+     * @return Whether payouts are logged to the write-ahead ledger.
+     */
+    public boolean isLedgerEnabled() {
+        return ledgerEnabled;
+    }
+
+    /**
+     * @return The maximum number of ledger records covered by one fsync.
+     */
+    public int getLedgerMaxBatch() {
+        return ledgerMaxBatch;
+    }
+
+    /**
+     * @return The ledger size in bytes above which it is compacted.
+     */
+    public long getLedgerCompactBytes() {
+        return ledgerCompactBytes;
+    }
+
+    /**
+     * @return How many startup replays an unacknowledged payout gets before it is dropped.
+     */
+    public int getLedgerMaxReplays() {
+        return ledgerMaxReplays;
+    }
+
+    /**
+     * @return Whether metrics are periodically written to a file.
+     */
+    public boolean isMetricsExportEnabled() {
+        return metricsExportEnabled;
+    }
+
+    /**
+     * @return The file format of the metrics export.
+     */
+    public MetricsFormat getMetricsExportFormat() {
+        return metricsExportFormat;
+    }
+
+    /**
+     * @return The time between two metrics exports, in seconds.
+     */
+    public long getMetricsExportIntervalSeconds() {
+        return metricsExportIntervalSeconds;
+    }
+}
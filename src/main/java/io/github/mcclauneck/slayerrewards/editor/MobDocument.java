@@ -0,0 +1,280 @@
+package io.github.mcclauneck.slayerrewards.editor;
+
+import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * In-memory copy of a mob file used by the editor.
+ * <p>
+ * Edits are applied to the loaded configuration instead of re-reading and
+ * rewriting the file on every button press. Decoded items are cached per slot
+ * so only slots whose item actually changed are re-encoded. Persisting is left
+ * to {@link MobDocumentStore}, which is notified of every change.
+ * </p>
+ * All accessors are synchronized; the document is shared by the main thread,
+ * the async chat thread and the background writer.
+ */
+public class MobDocument {
+
+    private final String mobName;
+    private final File file;
+    private final YamlConfiguration config;
+    private final Consumer<MobDocument> onChange;
+    // Decoded, lore-free items keyed by "section.key"
+    private final Map<String, ItemStack> items = new HashMap<>();
+    // Highest key per section, dropped whenever entries are added or removed
+    private final Map<String, Integer> maxKeys = new HashMap<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private boolean dirty;
+    private long version;
+
+    /**
+     * Loads a mob file into memory, filling in defaults for a new file.
+     *
+     * @param mobName  The name of the mob (without .yml).
+     * @param file     The mob file.
+     * @param onChange Callback invoked after every change, used to schedule a write.
+     */
+    MobDocument(String mobName, File file, Consumer<MobDocument> onChange) {
+        this.mobName = mobName;
+        this.file = file;
+        this.onChange = onChange;
+        this.config = YamlConfiguration.loadConfiguration(file);
+
+        if (!file.exists()) {
+            // Auto-create file if it doesn't exist
+            config.set("currency", "coin");
+            config.set("amount", "0");
+            this.dirty = true;
+        }
+    }
+
+    /**
+     * @return The name of the mob (without .yml).
+     */
+    public String getMobName() {
+        return mobName;
+    }
+
+    /**
+     * @return The mob file this document persists to.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return A counter incremented on every change.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Whether the document has changes not yet written to disk.
+     */
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Reads a string value.
+     *
+     * @param path The config path.
+     * @param def  The value to return if the path is missing.
+     * @return The stored value or the default.
+     */
+    public synchronized String getString(String path, String def) {
+        return config.getString(path, def);
+    }
+
+    /**
+     * Reads a boolean value.
+     *
+     * @param path The config path.
+     * @param def  The value to return if the path is missing.
+     * @return The stored value or the default.
+     */
+    public synchronized boolean getBoolean(String path, boolean def) {
+        return config.getBoolean(path, def);
+    }
+
+    /**
+     * Reads a numeric value.
+     *
+     * @param path The config path.
+     * @param def  The value to return if the path is missing.
+     * @return The stored value or the default.
+     */
+    public synchronized double getDouble(String path, double def) {
+        return config.getDouble(path, def);
+    }
+
+    /**
+     * Sets a value and marks the document as changed.
+     *
+     * @param path  The config path.
+     * @param value The new value, or null to remove it.
+     */
+    public synchronized void set(String path, Object value) {
+        config.set(path, value);
+        // Paths may address whole sections or entries
+        items.keySet().removeIf(k -> k.equals(path) || k.startsWith(path + "."));
+        maxKeys.clear();
+        changed();
+    }
+
+    /**
+     * Gets a copy of a stored item with its configured amount applied.
+     * The item is decoded once and served from the cache afterwards.
+     *
+     * @param section The drop section path.
+     * @param key     The entry key.
+     * @return A fresh copy of the item, or null if the slot is empty or undecodable.
+     */
+    public synchronized ItemStack getItem(String section, int key) {
+        String path = section + "." + key;
+        ItemStack cached = items.get(path);
+        if (cached == null) {
+            String base64 = config.getString(path + ".metadata");
+            if (base64 == null || base64.isEmpty()) return null;
+
+            cached = EditorUtil.itemStackFromBase64(base64);
+            if (cached == null) return null;
+            // Ensure amount is synchronized if stored separately
+            cached.setAmount(config.getInt(path + ".amount", cached.getAmount()));
+            items.put(path, cached);
+        }
+        return cached.clone();
+    }
+
+    /**
+     * Stores an item if it differs from the current one.
+     *
+     * @param section      The drop section path.
+     * @param key          The entry key.
+     * @param item         The lore-free item to store.
+     * @param valueKey     The per-entry value to initialize ("chance" or "weight").
+     * @param defaultValue The initial value if the entry has none yet.
+     * @return Whether anything changed.
+     */
+    public synchronized boolean putItem(String section, int key, ItemStack item, String valueKey, double defaultValue) {
+        String path = section + "." + key;
+        ItemStack current = items.get(path);
+        if (current == null && config.contains(path + ".metadata")) {
+            // Slot was never displayed; decode once to compare
+            current = getItem(section, key);
+        }
+        if (item.equals(current)) return false;
+
+        config.set(path + ".metadata", EditorUtil.itemStackToBase64(item));
+        config.set(path + ".amount", item.getAmount());
+
+        // Preserve existing chance/weight if present, else use the default
+        if (!config.contains(path + "." + valueKey)) {
+            config.set(path + "." + valueKey, defaultValue);
+        }
+        items.put(path, item.clone());
+        maxKeys.remove(section);
+        return true;
+    }
+
+    /**
+     * Removes an entry if present.
+     *
+     * @param section The drop section path.
+     * @param key     The entry key.
+     * @return Whether anything changed.
+     */
+    public synchronized boolean removeItem(String section, int key) {
+        String path = section + "." + key;
+        items.remove(path);
+        if (!config.contains(path)) return false;
+        config.set(path, null);
+        maxKeys.remove(section);
+        return true;
+    }
+
+    /**
+     * Gets the highest numeric key of a drop section, for pagination.
+     * The key scan only runs again after entries were added or removed.
+     *
+     * @param section The drop section path.
+     * @return The highest key, or 0 if the section is empty.
+     */
+    public synchronized int getMaxKey(String section) {
+        return maxKeys.computeIfAbsent(section, this::scanMaxKey);
+    }
+
+    private int scanMaxKey(String section) {
+        ConfigurationSection drops = config.getConfigurationSection(section);
+        int maxKey = 0;
+        if (drops != null) {
+            for (String k : drops.getKeys(false)) {
+                try {
+                    int key = Integer.parseInt(k);
+                    if (key > maxKey) maxKey = key;
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        return maxKey;
+    }
+
+    /**
+     * Rewrites the stored items of every drop section in another encoding.
+     *
+     * @param target The encoding to write.
+     * @return The number of items rewritten.
+     */
+    public synchronized int migrate(ItemEncoding target) {
+        int converted = EditorUtil.migrateConfig(config, target);
+        if (converted > 0) changed();
+        return converted;
+    }
+
+    /**
+     * Marks the document as changed after a batch of edits.
+     */
+    public synchronized void changed() {
+        version++;
+        dirty = true;
+        onChange.accept(this);
+    }
+
+    /**
+     * Serializes the document for writing and clears the dirty flag.
+     *
+     * @return The YAML content, or null if there is nothing to write.
+     */
+    synchronized String snapshot() {
+        if (!dirty) return null;
+        dirty = false;
+        return config.saveToString();
+    }
+
+    /**
+     * Re-flags the document after a failed write so the next write retries.
+     */
+    synchronized void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * @return True if this call claimed the pending write slot.
+     */
+    boolean claimWrite() {
+        return writeScheduled.compareAndSet(false, true);
+    }
+
+    void releaseWrite() {
+        writeScheduled.set(false);
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.mcclauneck.slayerrewards.editor;
+
+import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import io.github.mcclauneck.slayerrewards.editor.util.ItemEncoding;
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the editor's in-memory mob documents and writes them behind.
+ * <p>
+ * Changes are coalesced for a short delay and then written on a background
+ * thread as temp file + atomic rename, so inventory clicks never wait on disk
+ * and readers (including the file watcher) never see a half-written file.
+ * </p>
+ */
+public class MobDocumentStore implements AutoCloseable {
+
+    private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+    private final File mobsFolder;
+    private final long writeDelayMillis;
+    private final Map<String, MobDocument> documents = new ConcurrentHashMap<>();
+    // Released documents whose final write has not finished yet
+    private final Map<String, MobDocument> releasing = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "SlayerRewards-EditorWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a new document store.
+     *
+     * @param mobsFolder       The directory containing mob YML files.
+     * @param writeDelayMillis How long changes are collected before being written.
+     */
+    public MobDocumentStore(File mobsFolder, long writeDelayMillis) {
+        this.mobsFolder = mobsFolder;
+        this.writeDelayMillis = writeDelayMillis;
+    }
+
+    /**
+     * Gets the document of a mob, loading it on first access.
+     * <p>
+     * A mob reopened while its released document is still being written gets
+     * that document back, since the file on disk may not hold its edits yet.
+     * </p>
+     *
+     * @param mobName The name of the mob file (without .yml).
+     * @return The shared in-memory document.
+     */
+    public MobDocument open(String mobName) {
+        String name = mobName.toLowerCase(Locale.ROOT);
+        return documents.computeIfAbsent(name, n -> {
+            MobDocument released = releasing.remove(n);
+            if (released != null) return released;
+
+            MobDocument document = new MobDocument(n, new File(mobsFolder, n + ".yml"), this::schedule);
+            // New files carry defaults that must reach the disk
+            if (document.isDirty()) schedule(document);
+            return document;
+        });
+    }
+
+    /**
+     * Rewrites the stored items of a mob file in another encoding.
+     * <p>
+     * A mob open in the editor is migrated in memory and written behind like
+     * any edit, so the open document never overwrites the migrated file. Files
+     * outside the editor's folder (world and region tables) are rewritten
+     * directly.
+     * </p>
+     *
+     * @param file   The mob file.
+     * @param target The encoding to write.
+     * @return The number of items rewritten.
+     * @throws IOException If the file cannot be written.
+     */
+    public int migrate(File file, ItemEncoding target) throws IOException {
+        if (!mobsFolder.equals(file.getParentFile())) return EditorUtil.migrateFile(file, target);
+
+        String name = file.getName().substring(0, file.getName().length() - 4).toLowerCase(Locale.ROOT);
+        int[] converted = new int[1];
+        IOException[] error = new IOException[1];
+        // Holding the entry keeps the editor from opening the mob halfway through the rewrite
+        documents.compute(name, (n, document) -> {
+            if (document != null) {
+                converted[0] = document.migrate(target);
+                return document;
+            }
+            // A released document still being written would overwrite a direct rewrite
+            MobDocument released = releasing.get(n);
+            if (released != null) {
+                converted[0] = released.migrate(target);
+                return null;
+            }
+            try {
+                converted[0] = EditorUtil.migrateFile(file, target);
+            } catch (IOException e) {
+                error[0] = e;
+            }
+            return null;
+        });
+        if (error[0] != null) throw error[0];
+        return converted[0];
+    }
+
+    /**
+     * Writes a document as soon as possible instead of waiting for the delay.
+     *
+     * @param document The document to write.
+     */
+    public void flush(MobDocument document) {
+        writer.execute(() -> write(document));
+    }
+
+    /**
+     * Drops a document from memory once no editor uses it, writing pending changes first.
+     * The next open re-reads the file, picking up edits made by other tools.
+     * <p>
+     * A dirty document is only forgotten once its write has finished; until
+     * then, reopening the mob returns it instead of reading the stale file.
+     * </p>
+     *
+     * @param mobName The name of the mob file (without .yml).
+     */
+    public void release(String mobName) {
+        String name = mobName.toLowerCase(Locale.ROOT);
+        // Holding the entry keeps open() from taking the document before it is parked
+        documents.computeIfPresent(name, (n, document) -> {
+            if (document.isDirty()) {
+                releasing.put(n, document);
+                try {
+                    writer.execute(() -> {
+                        write(document);
+                        // A failed write keeps the edits parked for the next open or close()
+                        if (!document.isDirty()) releasing.remove(n, document);
+                    });
+                } catch (Exception e) {
+                    // Writer already stopped (shutdown in progress); close() writes what is left
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Writes every pending document synchronously and stops the writer.
+     */
+    @Override
+    public void close() {
+        writer.shutdownNow();
+        try {
+            // A write already running would race the pass below on the same temp file
+            if (!writer.awaitTermination(5L, TimeUnit.SECONDS)) {
+                logger.error("Editor writer did not stop in time; pending files are written anyway.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (MobDocument document : documents.values()) {
+            write(document);
+        }
+        for (MobDocument document : releasing.values()) {
+            write(document);
+        }
+        documents.clear();
+        releasing.clear();
+    }
+
+    /**
+     * Schedules a delayed write unless one is already pending.
+     */
+    private void schedule(MobDocument document) {
+        if (document.claimWrite()) {
+            try {
+                writer.schedule(() -> write(document), writeDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // Writer already stopped (shutdown in progress); close() writes what is left
+                document.releaseWrite();
+            }
+        }
+    }
+
+    /**
+     * Serializes the document and atomically replaces the mob file.
+     */
+    private void write(MobDocument document) {
+        // Release first so edits made while writing schedule another write
+        document.releaseWrite();
+        String data = document.snapshot();
+        if (data == null) return;
+
+        Path target = document.getFile().toPath();
+        Path temp = target.resolveSibling("." + target.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, data, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            document.markDirty();
+            logger.error("Failed to save " + target.getFileName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.mcclauneck.slayerrewards.editor;
 
+import io.github.mcclauneck.slayerrewards.common.SlayerRewardsProvider;
 import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import io.github.mcclauneck.slayerrewards.scheduler.ITaskScheduler;
 import io.github.mcengine.mceconomy.api.enums.CurrencyType;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import net.kyori.adventure.text.Component;
@@ -8,8 +10,6 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -22,8 +22,8 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages the in-game GUI for editing mob drops.
@@ -31,34 +31,41 @@ import java.util.*;
  * This class handles:
  * <ul>
  * <li>Opening a paginated GUI for specific mobs.</li>
- * <li>Saving items placed in the GUI to the mob's YAML config.</li>
- * <li>Handling "Shift+Right Click" to edit drop chances via chat.</li>
+ * <li>Saving items placed in the GUI to an in-memory copy of the mob's YAML config,
+ * which is written to disk in the background.</li>
+ * <li>Editing the weighted entries of exclusive loot pools.</li>
+ * <li>Handling "Shift+Right Click" to edit drop chances (or pool weights) via chat.</li>
  * <li>Toggling default vanilla drops on/off.</li>
  * </ul>
  */
 public class MobDropEditor implements Listener {
 
     private final JavaPlugin plugin;
-    private final File mobsFolder;
+    private final ITaskScheduler scheduler;
+    private final MobDocumentStore store;
 
+    // Session state is read from the async chat thread and, on Folia, from several region threads
     // Tracks which player is editing which mob/page
-    private final Map<UUID, EditorSession> activeSessions = new HashMap<>();
+    private final Map<UUID, EditorSession> activeSessions = new ConcurrentHashMap<>();
     // Tracks players who are currently typing a chance value in chat
-    private final Map<UUID, Integer> pendingChanceEdit = new HashMap<>();
+    private final Map<UUID, Integer> pendingChanceEdit = new ConcurrentHashMap<>();
     // Tracks players switching pages to prevent InventoryCloseEvent from killing the session
-    private final Set<UUID> isSwitchingPages = new HashSet<>();
+    private final Set<UUID> isSwitchingPages = ConcurrentHashMap.newKeySet();
     // Tracks players editing the money amount
-    private final Set<UUID> pendingMoneyEdit = new HashSet<>();
+    private final Set<UUID> pendingMoneyEdit = ConcurrentHashMap.newKeySet();
+    // Last rendering of each open page, reused until its document changes
+    private final Map<PageKey, RenderedPage> renderCache = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new MobDropEditor.
      *
-     * @param plugin     The host plugin instance.
-     * @param mobsFolder The directory containing mob YML files.
+     * @param plugin   The host plugin instance.
+     * @param provider The provider owning the mobs folder and the editor settings.
      */
-    public MobDropEditor(JavaPlugin plugin, File mobsFolder) {
+    public MobDropEditor(JavaPlugin plugin, SlayerRewardsProvider provider) {
         this.plugin = plugin;
-        this.mobsFolder = mobsFolder;
+        this.scheduler = provider.getScheduler();
+        this.store = new MobDocumentStore(provider.getMobsFolder(), provider.getConfig().getEditorWriteDelayMillis());
     }
 
     /**
@@ -69,40 +76,60 @@ public class MobDropEditor implements Listener {
      * @param page    The page number (starts at 1).
      */
     public void openEditor(Player player, String mobName, int page) {
-        File file = new File(mobsFolder, mobName.toLowerCase() + ".yml");
-        if (!file.exists()) {
-            // Auto-create file if it doesn't exist
-            try {
-                file.createNewFile();
-                YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-                config.set("currency", "coin");
-                config.set("amount", "0");
-                config.save(file);
-            } catch (Exception ignored) {}
-        }
+        openEditor(player, mobName, null, page);
+    }
+
+    /**
+     * Opens the editor GUI for a specific mob, drop section and page.
+     *
+     * @param player  The player opening the editor.
+     * @param mobName The name of the mob file (without .yml).
+     * @param pool    The loot pool to edit, or null for the independent item drops.
+     * @param page    The page number (starts at 1).
+     */
+    public void openEditor(Player player, String mobName, String pool, int page) {
+        // Missing files are created with defaults by the document store
+        MobDocument doc = store.open(mobName);
 
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-        
         // Translatable Title: Edit Drop: %s | P%s
         Component title = Component.translatable("mcclauneck.slayerrewards.editor.title", 
-            Component.text(mobName), 
+            Component.text(pool == null ? mobName : mobName + " / " + pool), 
             Component.text(page));
 
         Inventory gui = Bukkit.createInventory(null, 54, title);
 
+        // Reuse the last rendering of this page while the document is unchanged
+        PageKey key = new PageKey(doc.getMobName(), pool, page);
+        RenderedPage rendered = renderCache.get(key);
+        if (rendered == null || rendered.doc() != doc || rendered.version() != doc.getVersion()) {
+            rendered = render(doc, pool, page);
+            renderCache.put(key, rendered);
+        }
+        // setContents copies every stack, so the cached array is never handed out
+        gui.setContents(rendered.contents());
+
+        activeSessions.put(player.getUniqueId(), new EditorSession(mobName, pool, page));
+        player.openInventory(gui);
+    }
+
+    /**
+     * Builds the full contents of an editor page from a document.
+     *
+     * @param doc  The document of the mob being edited.
+     * @param pool The loot pool to edit, or null for the independent item drops.
+     * @param page The page number (starts at 1).
+     * @return The rendering, tagged with the document version it was built from.
+     */
+    private RenderedPage render(MobDocument doc, String pool, int page) {
+        // Read the version first; a concurrent edit then only makes this rendering stale
+        long version = doc.getVersion();
+        ItemStack[] contents = new ItemStack[54];
+
         // Load Items
-        ConfigurationSection section = config.getConfigurationSection("item_drop");
-        
+        String section = EditorUtil.section(pool);
+
         // Calculate max key for pagination logic
-        int maxKey = 0;
-        if (section != null) {
-            for (String k : section.getKeys(false)) {
-                try {
-                    int key = Integer.parseInt(k);
-                    if (key > maxKey) maxKey = key;
-                } catch (NumberFormatException ignored) {}
-            }
-        }
+        int maxKey = doc.getMaxKey(section);
 
         // Pagination Logic (45 items per page)
         int itemsPerPage = 45;
@@ -111,21 +138,12 @@ public class MobDropEditor implements Listener {
         for (int i = 0; i < itemsPerPage; i++) {
             int currentKey = startKey + i;
 
-            // Load item from Base64 string
-            String base64 = (section != null) ? section.getString(currentKey + ".metadata") : null;
-            ItemStack item = null;
-            
-            if (base64 != null && !base64.isEmpty()) {
-                item = EditorUtil.itemStackFromBase64(base64);
-            }
-            
-            if (item != null) {
-                // Ensure amount is synchronized if stored separately
-                if (section != null) {
-                    item.setAmount(section.getInt(currentKey + ".amount", item.getAmount()));
-                }
+            // Decoded once per document, then served as a copy from its cache
+            ItemStack item = doc.getItem(section, currentKey);
 
-                double chance = section != null ? section.getDouble(currentKey + ".chance", 100.0) : 100.0;
+            if (item != null) {
+                double chance = doc.getDouble(section + "." + currentKey + ".chance", 100.0);
+                double weight = doc.getDouble(section + "." + currentKey + ".weight", 1.0);
                 ItemMeta meta = item.getItemMeta();
                 List<Component> lore = meta.hasLore() ? meta.lore() : new ArrayList<>();
                 
@@ -133,14 +151,19 @@ public class MobDropEditor implements Listener {
                 EditorUtil.cleanLore(lore);
 
                 lore.add(Component.text("----------------", NamedTextColor.YELLOW));
-                lore.add(Component.translatable("mcclauneck.slayerrewards.editor.lore.chance", NamedTextColor.GOLD, 
-                    Component.text(chance + "%")));
+                if (pool == null) {
+                    lore.add(Component.translatable("mcclauneck.slayerrewards.editor.lore.chance", NamedTextColor.GOLD, 
+                        Component.text(chance + "%")));
+                } else {
+                    lore.add(Component.translatable("mcclauneck.slayerrewards.editor.lore.weight", NamedTextColor.GOLD, 
+                        Component.text(weight)));
+                }
                 lore.add(Component.translatable("mcclauneck.slayerrewards.editor.lore.edit_hint", NamedTextColor.GRAY));
                 
                 meta.lore(lore);
                 item.setItemMeta(meta);
 
-                gui.setItem(i, item);
+                contents[i] = item;
             }
         }
 
@@ -150,21 +173,21 @@ public class MobDropEditor implements Listener {
         gMeta.displayName(Component.empty());
         glass.setItemMeta(gMeta);
 
-        for (int i = 45; i < 54; i++) gui.setItem(i, glass);
+        for (int i = 45; i < 54; i++) contents[i] = glass;
 
         // Navigation Buttons
         if (page > 1) {
-            gui.setItem(45, EditorUtil.createSkullButton("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvZGNlYzgwN2RjYzE0MzYzMzRmZDRkYzlhYjM0OTM0MmY2YzUyYzllN2IyYmYzNDY3MTJkYjcyYTBkNmQ3YTQifX19", 
-                Component.translatable("mcclauneck.slayerrewards.editor.btn.previous")));
+            contents[45] = EditorUtil.createSkullButton("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvZGNlYzgwN2RjYzE0MzYzMzRmZDRkYzlhYjM0OTM0MmY2YzUyYzllN2IyYmYzNDY3MTJkYjcyYTBkNmQ3YTQifX19", 
+                Component.translatable("mcclauneck.slayerrewards.editor.btn.previous"));
         }
-        boolean pageFull = (gui.getItem(44) != null);
+        boolean pageFull = (contents[44] != null);
         if (maxKey > (page * itemsPerPage) || pageFull) {
-            gui.setItem(53, EditorUtil.createSkullButton("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvZTAxYzdiNTcyNjE3ODk3NGIzYjNhMDFiNDJhNTkwZTU0MzY2MDI2ZmQ0MzgwOGYyYTc4NzY0ODg0M2E3ZjVhIn19fQ==", 
-                Component.translatable("mcclauneck.slayerrewards.editor.btn.next")));
+            contents[53] = EditorUtil.createSkullButton("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvZTAxYzdiNTcyNjE3ODk3NGIzYjNhMDFiNDJhNTkwZTU0MzY2MDI2ZmQ0MzgwOGYyYTc4NzY0ODg0M2E3ZjVhIn19fQ==", 
+                Component.translatable("mcclauneck.slayerrewards.editor.btn.next"));
         }
 
         // Currency Toggle (Slot 48) - Now using custom skulls
-        String currencyStr = config.getString("currency", "coin");
+        String currencyStr = doc.getString("currency", "coin");
         CurrencyType currency = CurrencyType.fromName(currencyStr);
         if (currency == null) currency = CurrencyType.COIN;
 
@@ -175,26 +198,25 @@ public class MobDropEditor implements Listener {
             case GOLD -> "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvYjBhN2I5NGM0ZTU4MWI2OTkxNTlkNDg4NDZlYzA5MTM5MjUwNjIzN2M4OWE5N2M5MzI0OGEwZDhhYmM5MTZkNSJ9fX0=";
             default -> "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvYWFmMGQ4ZDc5NGEzYTRhNWUyMGE1MjkyZWQyNTUxMzRmNzZkNGYzYTU1NTZmYzdmNDI2ZDI3YjI0NzQ3NGQ2NyJ9fX0=";
         };
-        gui.setItem(48, EditorUtil.createSkullButton(curB64, 
-            Component.translatable("mcclauneck.slayerrewards.editor.btn.currency", Component.text(currency.getName().toUpperCase()))));
+        contents[48] = EditorUtil.createSkullButton(curB64, 
+            Component.translatable("mcclauneck.slayerrewards.editor.btn.currency", Component.text(currency.getName().toUpperCase())));
 
         // Money Amount Editor (Slot 50)
-        String amount = config.getString("amount", "0");
-        gui.setItem(50, EditorUtil.createButton(Material.PAPER, 
-            Component.translatable("mcclauneck.slayerrewards.editor.btn.reward", Component.text(amount))));
+        String amount = doc.getString("amount", "0");
+        contents[50] = EditorUtil.createButton(Material.PAPER, 
+            Component.translatable("mcclauneck.slayerrewards.editor.btn.reward", Component.text(amount)));
 
         // Default Drops Toggle (Slot 49)
-        boolean cancelDefault = config.getBoolean("cancel_default_drops", false);
+        boolean cancelDefault = doc.getBoolean("cancel_default_drops", false);
         String toggleB64 = cancelDefault ? "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvZWFmMjU4ZGI3MjEzMGJmZDk3ZDIxOGM4OTRiYTA4MTQ5NmQyNGQ4NTZkYzYwNDFkMTk2MDZmZmZiNGFiZjJhYyJ9fX0=" : "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvNzBkOTY5Y2Q4YzhiMjkxNmIyNmExOTcyNTNlM2FkZmU5ODUzNzIwNDk0ZjIyYmUxOWEwODNiZjE4NGY5YzJiYyJ9fX0=";
-        gui.setItem(49, EditorUtil.createSkullButton(toggleB64, 
-            Component.translatable(cancelDefault ? "mcclauneck.slayerrewards.editor.btn.defaults.off" : "mcclauneck.slayerrewards.editor.btn.defaults.on")));
+        contents[49] = EditorUtil.createSkullButton(toggleB64, 
+            Component.translatable(cancelDefault ? "mcclauneck.slayerrewards.editor.btn.defaults.off" : "mcclauneck.slayerrewards.editor.btn.defaults.on"));
 
         // Save & Reload (Slot 52)
-        gui.setItem(52, EditorUtil.createSkullButton("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvMTc0MjgxZjk2NjlmMmNkY2Y3ODQ4NDQ4YTViYjYyODIzMmVlYTJiZmJkZmM3ZDRmMjBiZGE1MDMzZDAzMzY2YSJ9fX0=", 
-            Component.translatable("mcclauneck.slayerrewards.editor.btn.save")));
+        contents[52] = EditorUtil.createSkullButton("eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvMTc0MjgxZjk2NjlmMmNkY2Y3ODQ4NDQ4YTViYjYyODIzMmVlYTJiZmJkZmM3ZDRmMjBiZGE1MDMzZDAzMzY2YSJ9fX0=", 
+            Component.translatable("mcclauneck.slayerrewards.editor.btn.save"));
 
-        activeSessions.put(player.getUniqueId(), new EditorSession(mobName, page));
-        player.openInventory(gui);
+        return new RenderedPage(doc, version, contents);
     }
 
     /**
@@ -224,11 +246,14 @@ public class MobDropEditor implements Listener {
                 
                 int absoluteIndex = event.getSlot() + ((session.page - 1) * 45);
                 
-                EditorUtil.savePage(mobsFolder, session.mobName(), session.page(), event.getView().getTopInventory());
+                EditorUtil.savePage(store.open(session.mobName()), session.pool(), session.page(), event.getView().getTopInventory());
                 pendingChanceEdit.put(player.getUniqueId(), absoluteIndex);
                 
                 player.closeInventory();
-                player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.enter_chance", NamedTextColor.GREEN, 
+                String promptKey = session.pool() == null
+                    ? "mcclauneck.slayerrewards.editor.chat.enter_chance"
+                    : "mcclauneck.slayerrewards.editor.chat.enter_weight";
+                player.sendMessage(Component.translatable(promptKey, NamedTextColor.GREEN, 
                     Component.text(clickedItem.getType().name(), NamedTextColor.YELLOW)));
                 return;
             }
@@ -260,24 +285,27 @@ public class MobDropEditor implements Listener {
                     }
                 }
                 case 49 -> { // Toggle Defaults
-                    EditorUtil.savePage(mobsFolder, session.mobName(), session.page(), event.getInventory());
-                    EditorUtil.toggleDefaultDrops(mobsFolder, session.mobName());
+                    EditorUtil.savePage(store.open(session.mobName()), session.pool(), session.page(), event.getInventory());
+                    EditorUtil.toggleDefaultDrops(store.open(session.mobName()));
                     shouldSaveAndReopen = true; // Already saved, but logic flow requires reopening
                 }
                 case 48 -> { // Cycle Currency
-                    EditorUtil.savePage(mobsFolder, session.mobName(), session.page(), event.getInventory());
+                    EditorUtil.savePage(store.open(session.mobName()), session.pool(), session.page(), event.getInventory());
                     cycleCurrency(session.mobName);
                     shouldSaveAndReopen = true;
                 }
                 case 50 -> { // Edit Reward
                     pendingMoneyEdit.add(player.getUniqueId());
-                    EditorUtil.savePage(mobsFolder, session.mobName(), session.page(), event.getView().getTopInventory());
+                    EditorUtil.savePage(store.open(session.mobName()), session.pool(), session.page(), event.getView().getTopInventory());
                     player.closeInventory();
                     player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.enter_reward", NamedTextColor.GREEN));
                     requiresChatInput = true;
                 }
                 case 52 -> { // Save & Reload
-                    EditorUtil.savePage(mobsFolder, session.mobName(), session.page(), event.getInventory());
+                    MobDocument doc = store.open(session.mobName());
+                    EditorUtil.savePage(doc, session.pool(), session.page(), event.getInventory());
+                    // Explicit save skips the write-behind delay
+                    store.flush(doc);
                     shouldSaveAndReopen = true;
                 }
             }
@@ -287,12 +315,13 @@ public class MobDropEditor implements Listener {
                 // For cases 48/49/52, we saved inside the case, but redundancy here is safe or can be optimized out.
                 // To be strictly safe and robust:
                 if (event.getSlot() == 45 || event.getSlot() == 53) {
-                    EditorUtil.savePage(mobsFolder, session.mobName(), session.page(), event.getInventory());
+                    EditorUtil.savePage(store.open(session.mobName()), session.pool(), session.page(), event.getInventory());
                 }
                 
                 player.closeInventory();
                 int finalTargetPage = targetPage;
-                Bukkit.getScheduler().runTask(plugin, () -> openEditor(player, session.mobName, finalTargetPage));
+                // Reopen on the next tick, after the click event has finished
+                scheduler.runForLater(player, () -> openEditor(player, session.mobName, session.pool, finalTargetPage), 1L);
             }
             return;
         }
@@ -304,18 +333,17 @@ public class MobDropEditor implements Listener {
     }
 
     private void cycleCurrency(String mobName) {
-        File file = new File(mobsFolder, mobName.toLowerCase() + ".yml");
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-        
-        String currentStr = config.getString("currency", "coin");
-        CurrencyType current = CurrencyType.fromName(currentStr);
-        if (current == null) current = CurrencyType.COIN;
-        
-        CurrencyType[] values = CurrencyType.values();
-        int nextIndex = (current.ordinal() + 1) % values.length;
-        
-        config.set("currency", values[nextIndex].getName());
-        try { config.save(file); } catch (Exception ignored) {}
+        MobDocument doc = store.open(mobName);
+        synchronized (doc) {
+            String currentStr = doc.getString("currency", "coin");
+            CurrencyType current = CurrencyType.fromName(currentStr);
+            if (current == null) current = CurrencyType.COIN;
+
+            CurrencyType[] values = CurrencyType.values();
+            int nextIndex = (current.ordinal() + 1) % values.length;
+
+            doc.set("currency", values[nextIndex].getName());
+        }
     }
 
     /**
@@ -334,7 +362,8 @@ public class MobDropEditor implements Listener {
             if (activeSessions.containsKey(player.getUniqueId())) {
                 if (!pendingChanceEdit.containsKey(player.getUniqueId()) && !pendingMoneyEdit.contains(player.getUniqueId())) {
                     EditorSession session = activeSessions.remove(player.getUniqueId());
-                    EditorUtil.savePage(mobsFolder, session.mobName(), session.page(), event.getInventory());
+                    EditorUtil.savePage(store.open(session.mobName()), session.pool(), session.page(), event.getInventory());
+                    releaseIfUnused(session.mobName());
                     player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.saved", NamedTextColor.GREEN));
                 }
             }
@@ -367,30 +396,83 @@ public class MobDropEditor implements Listener {
         if (pendingChanceEdit.containsKey(uuid)) {
             int absoluteIndex = pendingChanceEdit.remove(uuid);
             try {
-                double chance = Double.parseDouble(message);
-                chance = Math.max(0, Math.min(100, chance));
-                EditorUtil.updateChance(mobsFolder, session.mobName(), absoluteIndex + 1, chance);
-                player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.updated_chance", NamedTextColor.GREEN, 
-                    Component.text(chance + "%", NamedTextColor.YELLOW)));
+                if (session.pool() != null) {
+                    // Pool entries take a relative weight instead of a percentage
+                    double weight = Math.max(0, Double.parseDouble(message));
+                    EditorUtil.updateWeight(store.open(session.mobName()), session.pool(), absoluteIndex + 1, weight);
+                    player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.updated_weight", NamedTextColor.GREEN, 
+                        Component.text(weight, NamedTextColor.YELLOW)));
+                } else {
+                    double chance = Double.parseDouble(message);
+                    chance = Math.max(0, Math.min(100, chance));
+                    EditorUtil.updateChance(store.open(session.mobName()), absoluteIndex + 1, chance);
+                    player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.updated_chance", NamedTextColor.GREEN, 
+                        Component.text(chance + "%", NamedTextColor.YELLOW)));
+                }
             } catch (NumberFormatException e) {
                 player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.invalid_number", NamedTextColor.RED));
             }
         } else if (pendingMoneyEdit.contains(uuid)) {
             pendingMoneyEdit.remove(uuid);
-            File file = new File(mobsFolder, session.mobName.toLowerCase() + ".yml");
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-            config.set("amount", message);
-            try { 
-                config.save(file); 
-                player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.updated_reward", NamedTextColor.GREEN));
-            } catch (Exception ignored) {}
+            store.open(session.mobName()).set("amount", message);
+            player.sendMessage(Component.translatable("mcclauneck.slayerrewards.editor.chat.updated_reward", NamedTextColor.GREEN));
         }
 
-        Bukkit.getScheduler().runTask(plugin, () -> openEditor(player, session.mobName, session.page));
+        scheduler.runFor(player, () -> openEditor(player, session.mobName, session.pool, session.page));
+    }
+
+    /**
+     * Gets the store holding the documents currently open in the editor.
+     *
+     * @return The document store.
+     */
+    public MobDocumentStore getStore() {
+        return store;
+    }
+
+    /**
+     * Writes all pending editor changes and stops the background writer.
+     */
+    public void shutdown() {
+        store.close();
+    }
+
+    /**
+     * Drops the cached document of a mob once nobody is editing it anymore.
+     */
+    private void releaseIfUnused(String mobName) {
+        for (EditorSession other : activeSessions.values()) {
+            if (other.mobName().equalsIgnoreCase(mobName)) return;
+        }
+        String name = mobName.toLowerCase(Locale.ROOT);
+        renderCache.keySet().removeIf(key -> key.mobName().equals(name));
+        store.release(mobName);
     }
 
     /**
      * Record to hold session data.
+     *
+     * @param mobName The mob being edited.
+     * @param pool    The loot pool being edited, or null for the independent drops.
+     * @param page    The current page.
+     */
+    private record EditorSession(String mobName, String pool, int page) {}
+
+    /**
+     * Identifies one rendered editor page.
+     *
+     * @param mobName The lower-case mob name.
+     * @param pool    The loot pool, or null for the independent drops.
+     * @param page    The page number.
+     */
+    private record PageKey(String mobName, String pool, int page) {}
+
+    /**
+     * A rendered editor page.
+     *
+     * @param doc      The document it was rendered from.
+     * @param version  The document version it was rendered from.
+     * @param contents The 54 inventory slots; never modified after rendering.
      */
-    private record EditorSession(String mobName, int page) {}
+    private record RenderedPage(MobDocument doc, long version, ItemStack[] contents) {}
 }
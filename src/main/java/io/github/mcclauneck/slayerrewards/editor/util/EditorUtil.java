@@ -1,12 +1,16 @@
 package io.github.mcclauneck.slayerrewards.editor.util;
 
 import com.destroystokyo.paper.profile.PlayerProfile;
+import io.github.mcclauneck.slayerrewards.editor.MobDocument;
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TranslatableComponent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -14,6 +18,8 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.profile.PlayerTextures;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -21,20 +27,57 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility class for MobDropEditor operations.
  * <p>
- * Handles file I/O and item manipulation logic separated from the event listener.
+ * Handles document edits, item encoding and item manipulation logic separated from the event listener.
  * </p>
  */
 public class EditorUtil {
 
+    /**
+     * Config section holding the independent item drops.
+     */
+    public static final String DROP_SECTION = "item_drop";
+
+    private static final MCExtensionLogger LOGGER = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+
+    // Encoding used for newly written items; reading always detects the stored format
+    private static volatile ItemEncoding itemEncoding = ItemEncoding.BINARY;
+
+    // Textured heads by texture; building one decodes JSON and creates a profile
+    private static final Map<String, ItemStack> SKULLS = new ConcurrentHashMap<>();
+
     private EditorUtil() {
         // Prevent instantiation
     }
 
+    /**
+     * Sets the encoding used when items are written to mob files.
+     *
+     * @param encoding The encoding for new values.
+     */
+    public static void setItemEncoding(ItemEncoding encoding) {
+        itemEncoding = encoding;
+    }
+
+    /**
+     * Gets the config section holding the entries of a loot pool.
+     *
+     * @param pool The pool name, or null for the independent item drops.
+     * @return The section path.
+     */
+    public static String section(String pool) {
+        return pool == null ? DROP_SECTION : "loot_pools." + pool + ".entries";
+    }
+
     /**
      * Helper to create simple control buttons.
      *
@@ -54,12 +97,31 @@ public class EditorUtil {
 
     /**
      * Creates a player head button with a custom Base64 texture.
+     * <p>
+     * The textured head is built once per texture and cloned afterwards; only the
+     * display name is applied per call.
+     * </p>
      *
      * @param b64  The Base64 texture string.
      * @param name The display name of the button.
      * @return The constructed ItemStack.
      */
     public static ItemStack createSkullButton(String b64, Component name) {
+        // A texture that fails to decode is not cached and renders as a plain head
+        ItemStack skull = SKULLS.computeIfAbsent(b64, EditorUtil::createSkull);
+        ItemStack item = skull != null ? skull.clone() : new ItemStack(Material.PLAYER_HEAD);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.displayName(name.colorIfAbsent(NamedTextColor.WHITE));
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+
+    /**
+     * Builds a textured head, or returns null if the texture cannot be decoded.
+     */
+    private static ItemStack createSkull(String b64) {
         ItemStack item = new ItemStack(Material.PLAYER_HEAD);
         SkullMeta meta = (SkullMeta) item.getItemMeta();
         if (meta == null) return item;
@@ -77,13 +139,13 @@ public class EditorUtil {
             // Replace deprecated new URL(string) with URI.create(string).toURL()
             textures.setSkin(URI.create(urlString).toURL());
             profile.setTextures(textures);
-        } catch (MalformedURLException | IllegalArgumentException e) {
-            e.printStackTrace();
+        } catch (MalformedURLException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            LOGGER.error("Failed to decode skull texture: " + e.getMessage());
+            return null;
         }
 
         // Use setPlayerProfile (Paper) instead of deprecated setOwnerProfile (Bukkit)
         meta.setPlayerProfile(profile);
-        meta.displayName(name.colorIfAbsent(NamedTextColor.WHITE));
         item.setItemMeta(meta);
         return item;
     }
@@ -127,19 +189,38 @@ public class EditorUtil {
     }
 
     /**
-     * Saves the items in the current page to the YAML file.
+     * Saves the items in the current page to the mob document.
      *
-     * @param mobsFolder The directory containing mob files.
-     * @param mobName    The name of the mob.
-     * @param page       The current page number.
-     * @param inv        The inventory being saved.
+     * @param doc  The document of the mob being edited.
+     * @param page The current page number.
+     * @param inv  The inventory being saved.
      */
-    public static void savePage(File mobsFolder, String mobName, int page, Inventory inv) {
-        File file = new File(mobsFolder, mobName.toLowerCase() + ".yml");
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+    public static void savePage(MobDocument doc, int page, Inventory inv) {
+        savePage(doc, null, page, inv);
+    }
+
+    /**
+     * Saves the items in the current page to the mob document, either as independent
+     * drops or as entries of a loot pool.
+     * <p>
+     * Only slots whose item differs from the stored one are re-encoded, and the
+     * document is only marked changed if at least one slot changed.
+     * </p>
+     *
+     * @param doc  The document of the mob being edited.
+     * @param pool The loot pool being edited, or null for the independent drops.
+     * @param page The current page number.
+     * @param inv  The inventory being saved.
+     */
+    public static void savePage(MobDocument doc, String pool, int page, Inventory inv) {
+        String section = section(pool);
+        // Pool entries are weighted; independent drops have a chance
+        String valueKey = pool == null ? "chance" : "weight";
+        double defaultValue = pool == null ? 100.0 : 1.0;
 
         int itemsPerPage = 45;
         int startIndex = (page - 1) * itemsPerPage;
+        boolean changed = false;
 
         for (int i = 0; i < itemsPerPage; i++) {
             ItemStack item = inv.getItem(i);
@@ -147,100 +228,204 @@ public class EditorUtil {
 
             if (item != null && item.getType() != Material.AIR) {
                 // Create a FRESH item copy to modify lore without affecting the GUI item (optional safety)
-                ItemStack toSave = new ItemStack(item); 
+                ItemStack toSave = new ItemStack(item);
                 ItemMeta meta = toSave.getItemMeta();
                 List<Component> lore = meta.lore();
 
                 if (lore != null) {
                     cleanLore(lore); // Robust cleanup using shared logic
-                    meta.lore(lore);
+                    meta.lore(lore.isEmpty() ? null : lore);
                     toSave.setItemMeta(meta);
                 }
 
-                config.set("item_drop." + key + ".metadata", itemStackToBase64(toSave));
-                config.set("item_drop." + key + ".amount", item.getAmount());
-
-                // Preserve existing chance if present, else default to 100.0
-                if (!config.contains("item_drop." + key + ".chance")) {
-                    config.set("item_drop." + key + ".chance", 100.0);
-                }
+                changed |= doc.putItem(section, key, toSave, valueKey, defaultValue);
             } else {
-                config.set("item_drop." + key, null); // Remove if empty slot
+                changed |= doc.removeItem(section, key); // Remove if empty slot
             }
         }
 
-        try {
-            config.save(file);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        if (changed) doc.changed();
     }
 
     /**
-     * Toggles the 'cancel_default_drops' boolean in the config.
+     * Toggles the 'cancel_default_drops' boolean in the document.
      *
-     * @param mobsFolder The directory containing mob files.
-     * @param mobName    The name of the mob.
+     * @param doc The document of the mob being edited.
      */
-    public static void toggleDefaultDrops(File mobsFolder, String mobName) {
-        File file = new File(mobsFolder, mobName.toLowerCase() + ".yml");
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-        boolean current = config.getBoolean("cancel_default_drops", false);
-        config.set("cancel_default_drops", !current);
-        try {
-            config.save(file);
-        } catch (IOException e) {
-            e.printStackTrace();
+    public static void toggleDefaultDrops(MobDocument doc) {
+        synchronized (doc) {
+            doc.set("cancel_default_drops", !doc.getBoolean("cancel_default_drops", false));
         }
     }
 
     /**
      * Updates the chance value for a specific item index.
      *
-     * @param mobsFolder The directory containing mob files.
-     * @param mobName    The name of the mob.
-     * @param key        The item key index.
-     * @param chance     The new chance value.
+     * @param doc    The document of the mob being edited.
+     * @param key    The item key index.
+     * @param chance The new chance value.
      */
-    public static void updateChance(File mobsFolder, String mobName, int key, double chance) {
-        File file = new File(mobsFolder, mobName.toLowerCase() + ".yml");
-        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
-        config.set("item_drop." + key + ".chance", chance);
-        try {
-            config.save(file);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    public static void updateChance(MobDocument doc, int key, double chance) {
+        doc.set(DROP_SECTION + "." + key + ".chance", chance);
     }
 
     /**
-     * Serializes an ItemStack to a Base64 string using YAML serialization.
+     * Updates the weight value for a specific loot pool entry.
+     *
+     * @param doc    The document of the mob being edited.
+     * @param pool   The loot pool name.
+     * @param key    The entry key index.
+     * @param weight The new weight value.
+     */
+    public static void updateWeight(MobDocument doc, String pool, int key, double weight) {
+        doc.set(section(pool) + "." + key + ".weight", weight);
+    }
+
+    /**
+     * Serializes an ItemStack to a Base64 string using the configured encoding.
      *
      * @param item The item to serialize.
-     * @return The Base64 encoded string.
+     * @return The Base64 encoded string, prefixed for binary encodings.
      */
     public static String itemStackToBase64(ItemStack item) {
-        YamlConfiguration tempConfig = new YamlConfiguration();
-        tempConfig.set("i", item);
-        String yamlString = tempConfig.saveToString();
-        return Base64.getEncoder().encodeToString(yamlString.getBytes(StandardCharsets.UTF_8));
+        return itemStackToBase64(item, itemEncoding);
+    }
+
+    /**
+     * Serializes an ItemStack to a Base64 string using the given encoding.
+     *
+     * @param item     The item to serialize.
+     * @param encoding The encoding to use.
+     * @return The Base64 encoded string, prefixed for binary encodings.
+     */
+    public static String itemStackToBase64(ItemStack item, ItemEncoding encoding) {
+        switch (encoding) {
+            case BINARY -> {
+                return encoding.getPrefix() + Base64.getEncoder().encodeToString(item.serializeAsBytes());
+            }
+            case BINARY_GZIP -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(item.serializeAsBytes());
+                } catch (IOException e) {
+                    // In-memory streams do not fail; fall back to the uncompressed form just in case
+                    return itemStackToBase64(item, ItemEncoding.BINARY);
+                }
+                return encoding.getPrefix() + Base64.getEncoder().encodeToString(out.toByteArray());
+            }
+            default -> {
+                YamlConfiguration tempConfig = new YamlConfiguration();
+                tempConfig.set("i", item);
+                String yamlString = tempConfig.saveToString();
+                return Base64.getEncoder().encodeToString(yamlString.getBytes(StandardCharsets.UTF_8));
+            }
+        }
     }
 
     /**
-     * Deserializes a Base64 string back into an ItemStack using YAML deserialization.
+     * Deserializes a stored Base64 string back into an ItemStack.
+     * <p>
+     * The encoding is detected from the value, so binary and legacy YAML values
+     * can be mixed freely within one file.
+     * </p>
      *
      * @param data The Base64 encoded string.
      * @return The deserialized ItemStack, or null if invalid.
      */
     public static ItemStack itemStackFromBase64(String data) {
+        return itemStackFromBase64(data, e -> LOGGER.error("Failed to decode item: " + e.getMessage()));
+    }
+
+    /**
+     * Decodes an item in any supported encoding, handing failures to the caller.
+     *
+     * @param data    The stored value.
+     * @param onError Receives the exception if the value cannot be decoded.
+     * @return The decoded item, or null on failure.
+     */
+    public static ItemStack itemStackFromBase64(String data, Consumer<Exception> onError) {
         try {
-            String yamlString = new String(Base64.getDecoder().decode(data), StandardCharsets.UTF_8);
-            YamlConfiguration tempConfig = new YamlConfiguration();
-            tempConfig.loadFromString(yamlString);
-            return tempConfig.getItemStack("i");
+            ItemEncoding encoding = ItemEncoding.detect(data);
+            byte[] raw = Base64.getDecoder().decode(data.substring(encoding.getPrefix().length()));
+
+            switch (encoding) {
+                case BINARY -> {
+                    return ItemStack.deserializeBytes(raw);
+                }
+                case BINARY_GZIP -> {
+                    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+                        return ItemStack.deserializeBytes(gzip.readAllBytes());
+                    }
+                }
+                default -> {
+                    YamlConfiguration tempConfig = new YamlConfiguration();
+                    tempConfig.loadFromString(new String(raw, StandardCharsets.UTF_8));
+                    return tempConfig.getItemStack("i");
+                }
+            }
         } catch (Exception e) {
-            e.printStackTrace();
+            onError.accept(e);
             return null;
         }
     }
+
+    /**
+     * Rewrites every stored item of a mob file in the given encoding.
+     * <p>
+     * Covers independent drops and loot pool entries. Values that already use the
+     * target encoding, or that cannot be decoded, are left untouched.
+     * </p>
+     *
+     * @param file   The mob file to migrate.
+     * @param target The encoding to convert to.
+     * @return The number of items rewritten.
+     * @throws IOException If the file cannot be read or saved.
+     */
+    public static int migrateFile(File file, ItemEncoding target) throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(file);
+        } catch (InvalidConfigurationException e) {
+            throw new IOException("Invalid YAML: " + e.getMessage(), e);
+        }
+        int converted = migrateConfig(config, target);
+        if (converted > 0) config.save(file);
+        return converted;
+    }
+
+    /**
+     * Rewrites every item_drop and loot pool entry of a mob configuration in another encoding.
+     *
+     * @param config The mob configuration.
+     * @param target The encoding to write.
+     * @return The number of items rewritten.
+     */
+    public static int migrateConfig(ConfigurationSection config, ItemEncoding target) {
+        int converted = migrateSection(config.getConfigurationSection(DROP_SECTION), target);
+
+        ConfigurationSection pools = config.getConfigurationSection("loot_pools");
+        if (pools != null) {
+            for (String pool : pools.getKeys(false)) {
+                converted += migrateSection(config.getConfigurationSection(section(pool)), target);
+            }
+        }
+        return converted;
+    }
+
+    private static int migrateSection(ConfigurationSection section, ItemEncoding target) {
+        if (section == null) return 0;
+
+        int converted = 0;
+        for (String key : section.getKeys(false)) {
+            String data = section.getString(key + ".metadata");
+            if (data == null || data.isEmpty() || ItemEncoding.detect(data) == target) continue;
+
+            ItemStack item = itemStackFromBase64(data);
+            if (item == null) continue;
+
+            section.set(key + ".metadata", itemStackToBase64(item, target));
+            converted++;
+        }
+        return converted;
+    }
 }
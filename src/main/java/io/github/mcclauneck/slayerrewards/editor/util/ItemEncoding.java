@@ -0,0 +1,69 @@
+package io.github.mcclauneck.slayerrewards.editor.util;
+
+import java.util.Locale;
+
+/**
+ * Storage encodings for drop items in mob files.
+ * <p>
+ * Binary encodings are marked with a prefix that can never appear in plain
+ * Base64, so values written by older versions are still read transparently.
+ * </p>
+ */
+public enum ItemEncoding {
+
+    /**
+     * Base64 of a YAML document holding the item (the original format).
+     */
+    LEGACY(""),
+
+    /**
+     * Base64 of Paper's {@code ItemStack.serializeAsBytes()}.
+     */
+    BINARY("bin:"),
+
+    /**
+     * Base64 of the GZIP-compressed {@code ItemStack.serializeAsBytes()}.
+     */
+    BINARY_GZIP("gz:");
+
+    private final String prefix;
+
+    ItemEncoding(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * @return The marker prepended to stored values of this encoding.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Detects the encoding of a stored value.
+     *
+     * @param data The stored value.
+     * @return The encoding the value was written with.
+     */
+    public static ItemEncoding detect(String data) {
+        if (data.startsWith(BINARY.prefix)) return BINARY;
+        if (data.startsWith(BINARY_GZIP.prefix)) return BINARY_GZIP;
+        return LEGACY;
+    }
+
+    /**
+     * Parses an encoding from config.
+     *
+     * @param name     The configured name, case-insensitive.
+     * @param fallback The value to use when the name is missing or unknown.
+     * @return The parsed encoding.
+     */
+    public static ItemEncoding fromName(String name, ItemEncoding fallback) {
+        if (name == null) return fallback;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
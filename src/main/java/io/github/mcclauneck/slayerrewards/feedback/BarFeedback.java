@@ -0,0 +1,206 @@
+package io.github.mcclauneck.slayerrewards.feedback;
+
+import io.github.mcclauneck.slayerrewards.common.Payout;
+import io.github.mcclauneck.slayerrewards.scheduler.ITaskScheduler;
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shows payout feedback in the action bar or a boss bar instead of spawning entities.
+ * <p>
+ * Each player has one running total ("+340 Coin x12") that keeps adding up as
+ * long as kills follow within the configured window. Updates are throttled per
+ * player: the first payout after a quiet interval schedules one update, and
+ * every payout until it runs merely adds to the total. The static parts of the
+ * text are built once, so an update only creates the number components.
+ * </p>
+ * <p>
+ * Timing runs on the shared {@link TimingWheel}; messages are sent on the
+ * thread owning the player, so {@link #show} may be called from any thread.
+ * </p>
+ */
+public class BarFeedback {
+
+    private static final Component PLUS = Component.text("+", NamedTextColor.GREEN);
+
+    private final ITaskScheduler scheduler;
+    private final TimingWheel wheel;
+    private final long windowTicks;
+    private final long intervalTicks;
+    // Running total per player UUID
+    private final Map<UUID, Tally> tallies = new ConcurrentHashMap<>();
+    // " Coin" and friends, built once per currency
+    private final Map<CurrencyType, Component> currencyNames = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new bar feedback channel.
+     *
+     * @param scheduler     The scheduler used to reach the player's thread.
+     * @param wheel         The timing wheel driving updates and expiry.
+     * @param windowTicks   How long after the last kill the total keeps adding up, in ticks.
+     * @param intervalTicks The minimum number of ticks between two updates of the same player.
+     */
+    public BarFeedback(ITaskScheduler scheduler, TimingWheel wheel, long windowTicks, long intervalTicks) {
+        this.scheduler = scheduler;
+        this.wheel = wheel;
+        this.windowTicks = windowTicks;
+        this.intervalTicks = intervalTicks;
+    }
+
+    /**
+     * Adds a payout to the player's running total and schedules an update if none is pending.
+     *
+     * @param playerUuid The UUID of the player who earned the payout.
+     * @param payout     The payout to add; its feedback mode selects the bar.
+     * @param currency   The currency type gained.
+     */
+    public void show(String playerUuid, Payout payout, CurrencyType currency) {
+        UUID uuid = UUID.fromString(playerUuid);
+        while (true) {
+            Tally tally = tallies.computeIfAbsent(uuid, k -> new Tally());
+            long delay;
+            synchronized (tally) {
+                // Lost a race with expiry; start a fresh tally
+                if (tally.retired) continue;
+
+                long now = wheel.now();
+                if (tally.currency != currency || now - tally.lastKill > windowTicks) {
+                    tally.total = 0;
+                    tally.count = 0;
+                }
+                tally.currency = currency;
+                tally.mode = payout.feedback();
+                tally.total += payout.amount();
+                tally.count++;
+                tally.lastKill = now;
+
+                if (tally.flushPending) return;
+                tally.flushPending = true;
+                delay = tally.lastSent + intervalTicks - now;
+            }
+            wheel.schedule(() -> flush(uuid, tally), delay);
+            return;
+        }
+    }
+
+    /**
+     * Hides every boss bar and forgets all running totals.
+     */
+    public void shutdown() {
+        for (Map.Entry<UUID, Tally> entry : tallies.entrySet()) {
+            BossBar bar;
+            synchronized (entry.getValue()) {
+                entry.getValue().retired = true;
+                bar = entry.getValue().bar;
+            }
+            hide(entry.getKey(), bar);
+        }
+        tallies.clear();
+    }
+
+    /**
+     * Sends the current total to the player.
+     */
+    private void flush(UUID uuid, Tally tally) {
+        Component message;
+        FeedbackMode mode;
+        BossBar bar;
+        boolean armExpiry;
+        synchronized (tally) {
+            tally.flushPending = false;
+            tally.lastSent = wheel.now();
+            message = text(tally.total, tally.currency, tally.count);
+            mode = tally.mode;
+            if (mode == FeedbackMode.BOSS_BAR && tally.bar == null) {
+                tally.bar = BossBar.bossBar(message, 1.0f, BossBar.Color.GREEN, BossBar.Overlay.PROGRESS);
+            }
+            bar = tally.bar;
+            armExpiry = !tally.expiryPending;
+            tally.expiryPending = true;
+        }
+        if (armExpiry) scheduleExpiry(uuid, tally, windowTicks);
+
+        Player player = Bukkit.getPlayer(uuid);
+        if (player == null) return;
+        scheduler.runFor(player, () -> {
+            if (mode == FeedbackMode.BOSS_BAR) {
+                bar.name(message);
+                player.showBossBar(bar);
+                return;
+            }
+            // Switched to a world or mob using the action bar while the boss bar was up
+            if (bar != null) player.hideBossBar(bar);
+            player.sendActionBar(message);
+        });
+    }
+
+    /**
+     * Ends the tally once no kill has added to it for a full window.
+     */
+    private void scheduleExpiry(UUID uuid, Tally tally, long delayTicks) {
+        wheel.schedule(() -> {
+            BossBar bar;
+            synchronized (tally) {
+                long remainingTicks = tally.lastKill + windowTicks - wheel.now();
+                if (remainingTicks > 0 || tally.flushPending) {
+                    // Extended since scheduling; re-arm for the remaining time only
+                    scheduleExpiry(uuid, tally, Math.max(remainingTicks, intervalTicks));
+                    return;
+                }
+                tally.expiryPending = false;
+                tally.retired = true;
+                bar = tally.bar;
+            }
+            tallies.remove(uuid, tally);
+            hide(uuid, bar);
+        }, delayTicks);
+    }
+
+    private void hide(UUID uuid, BossBar bar) {
+        if (bar == null) return;
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) scheduler.runFor(player, () -> player.hideBossBar(bar));
+    }
+
+    /**
+     * Builds the bar text, e.g. "+340 Coin x12", from the pre-built parts.
+     */
+    private Component text(long amount, CurrencyType currency, int count) {
+        TextComponent.Builder builder = Component.text()
+            .append(PLUS)
+            .append(Component.text(amount, NamedTextColor.GREEN))
+            .append(currencyNames.computeIfAbsent(currency, c -> Component.text(" " + c.getName(), NamedTextColor.GREEN)));
+        if (count > 1) {
+            builder.append(Component.text(" x" + count, NamedTextColor.YELLOW));
+        }
+        return builder.build();
+    }
+
+    /**
+     * A player's running total.
+     */
+    private static final class Tally {
+        private CurrencyType currency;
+        private FeedbackMode mode;
+        private long total;
+        private int count;
+        // Wheel ticks of the last kill and the last update sent
+        private long lastKill;
+        private long lastSent = Long.MIN_VALUE / 2;
+        private boolean flushPending;
+        private boolean expiryPending;
+        // Whether the tally has expired and left the map
+        private boolean retired;
+        // Created on the first boss bar update
+        private BossBar bar;
+    }
+}
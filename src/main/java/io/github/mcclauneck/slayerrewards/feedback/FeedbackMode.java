@@ -0,0 +1,45 @@
+package io.github.mcclauneck.slayerrewards.feedback;
+
+import java.util.Locale;
+
+/**
+ * Controls how a player is shown the money a kill earned.
+ */
+public enum FeedbackMode {
+
+    /**
+     * A floating TextDisplay above the dead mob.
+     */
+    HOLOGRAM,
+
+    /**
+     * The player's running total in the action bar; spawns no entities.
+     */
+    ACTION_BAR,
+
+    /**
+     * The player's running total in a boss bar; spawns no entities.
+     */
+    BOSS_BAR,
+
+    /**
+     * No feedback at all.
+     */
+    NONE;
+
+    /**
+     * Parses a feedback mode from config.
+     *
+     * @param name     The configured name, case-insensitive.
+     * @param fallback The value to use when the name is missing or unknown.
+     * @return The parsed mode.
+     */
+    public static FeedbackMode fromName(String name, FeedbackMode fallback) {
+        if (name == null) return fallback;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package io.github.mcclauneck.slayerrewards.feedback;
+
+import io.github.mcclauneck.slayerrewards.common.Payout;
+import io.github.mcclauneck.slayerrewards.scheduler.ITaskScheduler;
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scoreboard.Team;
+import org.bukkit.util.Transformation;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shows payout feedback as floating TextDisplay holograms.
+ * <p>
+ * In single mode every payout shows its own short-lived display. In combo mode
+ * a player's payouts within the hologram lifetime update one existing display
+ * ("+340 Coin x12") and extend its expiry instead of spawning new entities.
+ * </p>
+ * <p>
+ * Restricted visibility modes spawn the display hidden by default and reveal it
+ * only to the killer (or their scoreboard team), so other players in tracking
+ * range never receive its packets.
+ * </p>
+ * <p>
+ * Displays come from the {@link HologramManager}, which recycles them, caps
+ * how many are shown at once and expires them on its timing wheel.
+ * </p>
+ * <p>
+ * {@link #show} must be called on the thread owning the payout location. Combo
+ * state is shared across threads, and updates to a live display are routed to
+ * the thread owning that display, so this works on Folia's region threads.
+ * </p>
+ */
+public class HologramFeedback {
+
+    /**
+     * Maximum distance (squared) from the live combo display for a payout to merge into it.
+     */
+    private static final double COMBO_RANGE_SQUARED = 16.0 * 16.0;
+
+    /**
+     * Radius used to estimate how many players would have tracked an unrestricted display.
+     */
+    private static final double TRACKING_RANGE = 48.0;
+
+    /**
+     * One in this many restricted spawns scans for nearby players; the entity
+     * scan costs more than the packets it measures, so the count is extrapolated.
+     */
+    private static final int AUDIENCE_SAMPLE_RATE = 32;
+
+    private final JavaPlugin plugin;
+    private final ITaskScheduler scheduler;
+    private final HologramManager manager;
+    private final long lifetimeTicks;
+    private final boolean combo;
+    // Live combo display per player UUID
+    private final Map<String, Combo> combos = new ConcurrentHashMap<>();
+
+    // Packet reduction accounting for restricted visibility
+    private final LongAdder restrictedSpawns = new LongAdder();
+    private final LongAdder viewersShown = new LongAdder();
+    private final LongAdder viewersSuppressed = new LongAdder();
+
+    /**
+     * Creates a new hologram feedback channel.
+     *
+     * @param plugin        The host plugin used for entity visibility.
+     * @param scheduler     The scheduler used for display updates.
+     * @param manager       The manager providing and expiring the displays.
+     * @param lifetimeTicks How long a hologram stays after the last payout, in ticks.
+     * @param combo         Whether consecutive payouts merge into one display.
+     */
+    public HologramFeedback(JavaPlugin plugin, ITaskScheduler scheduler, HologramManager manager, long lifetimeTicks, boolean combo) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.manager = manager;
+        this.lifetimeTicks = lifetimeTicks;
+        this.combo = combo;
+    }
+
+    /**
+     * Shows the feedback for a single payout.
+     *
+     * @param playerUuid The UUID of the player who earned the payout.
+     * @param payout     The payout to display.
+     * @param currency   The currency type gained.
+     */
+    public void show(String playerUuid, Payout payout, CurrencyType currency) {
+        Location loc = payout.location();
+        int amount = payout.amount();
+        HologramVisibility visibility = payout.visibility();
+
+        if (!combo) {
+            HologramManager.Lease lease = spawn(playerUuid, loc, text(amount, currency, 1), visibility);
+            // Expire after the configured lifetime (30 ticks by default)
+            if (lease != null) manager.releaseAfter(lease, lifetimeTicks);
+            return;
+        }
+
+        // The wheel's tick is shared by all region threads on Folia
+        long now = manager.now();
+        Combo current = combos.get(playerUuid);
+        if (current != null && current.accepts(loc, currency, visibility)) {
+            Component updated;
+            synchronized (current) {
+                current.total += amount;
+                current.count++;
+                current.expiresAt = now + lifetimeTicks;
+                updated = text(current.total, currency, current.count);
+            }
+            TextDisplay display = current.lease.display();
+            scheduler.runFor(display, () -> display.text(updated));
+            return;
+        }
+
+        // Start a new combo; a previous one (other currency or far away) simply expires on its own
+        HologramManager.Lease lease = spawn(playerUuid, loc, text(amount, currency, 1), visibility);
+        if (lease == null) return;
+        Combo started = new Combo(lease, loc, currency, visibility, amount, now + lifetimeTicks);
+        combos.put(playerUuid, started);
+        scheduleExpiry(playerUuid, started, lifetimeTicks);
+    }
+
+    /**
+     * Ends the combo once it has not been extended for a full lifetime.
+     */
+    private void scheduleExpiry(String playerUuid, Combo combo, long delayTicks) {
+        manager.schedule(() -> {
+            long remainingTicks;
+            synchronized (combo) {
+                remainingTicks = combo.expiresAt - manager.now();
+            }
+            if (remainingTicks > 0) {
+                // Extended since scheduling; re-arm for the remaining time only
+                scheduleExpiry(playerUuid, combo, remainingTicks);
+                return;
+            }
+            combos.remove(playerUuid, combo);
+            manager.release(combo.lease);
+        }, delayTicks);
+    }
+
+    /**
+     * Shows a TextDisplay slightly above the drop location and reveals it
+     * to its audience.
+     *
+     * @return The lease on the display, or null if the hologram cap was reached.
+     */
+    private HologramManager.Lease spawn(String playerUuid, Location loc, Component content, HologramVisibility visibility) {
+        // Offset location slightly up so it doesn't spawn in the ground
+        Location spawnLoc = loc.clone().add(0, 1.5, 0);
+        boolean restricted = visibility != HologramVisibility.ALL;
+
+        // TextDisplay (1.19.4+ feature, perfect for 1.21), recycled where possible
+        HologramManager.Lease lease = manager.acquire(spawnLoc, content, restricted, text -> {
+            text.setBillboard(Display.Billboard.CENTER); // Always face player
+            text.setViewRange(10.0f);
+            text.setBackgroundColor(org.bukkit.Color.fromARGB(0, 0, 0, 0)); // Transparent bg
+            text.setShadowed(true);
+
+            // Optional: Make it slightly larger
+            Transformation transformation = text.getTransformation();
+            transformation.getScale().set(1.5f, 1.5f, 1.5f);
+            text.setTransformation(transformation);
+        });
+        if (lease == null) return null;
+
+        if (restricted) {
+            int shown = reveal(lease.display(), playerUuid, visibility);
+            restrictedSpawns.increment();
+            viewersShown.add(shown);
+            if (ThreadLocalRandom.current().nextInt(AUDIENCE_SAMPLE_RATE) == 0) {
+                int audience = spawnLoc.getNearbyPlayers(TRACKING_RANGE).size();
+                viewersSuppressed.add((long) Math.max(0, audience - shown) * AUDIENCE_SAMPLE_RATE);
+            }
+        }
+        return lease;
+    }
+
+    /**
+     * Shows a hidden display to the killer and, in team mode, their online teammates.
+     *
+     * @return The number of players the display was shown to.
+     */
+    private int reveal(TextDisplay display, String playerUuid, HologramVisibility visibility) {
+        Player killer = Bukkit.getPlayer(UUID.fromString(playerUuid));
+        if (killer == null) return 0;
+
+        killer.showEntity(plugin, display);
+        int shown = 1;
+
+        // Folia does not support the main scoreboard; team mode degrades to killer-only there
+        if (visibility == HologramVisibility.TEAM && !scheduler.isRegionThreaded()) {
+            Team team = Bukkit.getScoreboardManager().getMainScoreboard().getEntryTeam(killer.getName());
+            if (team != null) {
+                for (String entry : team.getEntries()) {
+                    Player member = Bukkit.getPlayerExact(entry);
+                    if (member != null && member != killer && member.getWorld().equals(display.getWorld())) {
+                        member.showEntity(plugin, display);
+                        shown++;
+                    }
+                }
+            }
+        }
+        return shown;
+    }
+
+    /**
+     * @return The number of holograms spawned with restricted visibility.
+     */
+    public long getRestrictedSpawns() {
+        return restrictedSpawns.sum();
+    }
+
+    /**
+     * @return The total number of players restricted holograms were shown to.
+     */
+    public long getViewersShown() {
+        return viewersShown.sum();
+    }
+
+    /**
+     * @return The estimated number of nearby players that were spared a restricted hologram,
+     *         extrapolated from a sample of the spawns.
+     */
+    public long getViewersSuppressed() {
+        return viewersSuppressed.sum();
+    }
+
+    /**
+     * Builds the hologram text, e.g. "+340 Coin x12".
+     */
+    private Component text(long amount, CurrencyType currency, int count) {
+        TextComponent.Builder builder = Component.text()
+            .append(Component.text("+", NamedTextColor.GREEN))
+            .append(Component.text(amount, NamedTextColor.GREEN))
+            .append(Component.space())
+            .append(Component.text(currency.getName(), NamedTextColor.GREEN));
+        if (count > 1) {
+            builder.append(Component.text(" x" + count, NamedTextColor.YELLOW));
+        }
+        return builder.build();
+    }
+
+    /**
+     * A player's live combo display.
+     */
+    private static final class Combo {
+        private final HologramManager.Lease lease;
+        // Spawn location captured once; the display may be owned by another thread
+        private final Location origin;
+        private final CurrencyType currency;
+        private final HologramVisibility visibility;
+        private long total;
+        private int count = 1;
+        // Wheel tick at which the combo ends unless extended
+        private long expiresAt;
+
+        private Combo(HologramManager.Lease lease, Location origin, CurrencyType currency, HologramVisibility visibility, long total, long expiresAt) {
+            this.lease = lease;
+            this.origin = origin.clone();
+            this.currency = currency;
+            this.visibility = visibility;
+            this.total = total;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean accepts(Location loc, CurrencyType currency, HologramVisibility visibility) {
+            return this.currency == currency
+                && this.visibility == visibility
+                && lease.display().isValid()
+                && origin.getWorld().equals(loc.getWorld())
+                && origin.distanceSquared(loc) <= COMBO_RANGE_SQUARED;
+        }
+    }
+}
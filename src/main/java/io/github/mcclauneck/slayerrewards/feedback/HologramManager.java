@@ -0,0 +1,311 @@
+package io.github.mcclauneck.slayerrewards.feedback;
+
+import io.github.mcclauneck.slayerrewards.metrics.SlayerRewardsMetrics;
+import io.github.mcclauneck.slayerrewards.scheduler.ITaskScheduler;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Owns the lifecycle of every hologram display.
+ * <p>
+ * Expiries run on one {@link TimingWheel} advanced by a single repeating task,
+ * instead of one scheduler task per hologram. Live holograms are capped
+ * globally and per chunk, so a kill storm in one farm cannot flood the world
+ * with entities. Expired displays visible to everyone are hidden and parked in
+ * a small per-chunk pool, and the next hologram in that chunk reuses one
+ * instead of spawning a new entity.
+ * </p>
+ * <p>
+ * Displays are spawned non-persistent and tagged in their persistent data
+ * container, so they are never saved with the chunk, and any tagged display
+ * that is loaded anyway is removed on sight.
+ * </p>
+ */
+public class HologramManager implements Listener {
+
+    /**
+     * How long a parked display waits for reuse before it is removed.
+     */
+    private static final long POOL_IDLE_TICKS = 600L;
+
+    /**
+     * How often chunk counters without holograms are forgotten.
+     */
+    private static final long CLEANUP_PERIOD_TICKS = 1200L;
+
+    private final ITaskScheduler scheduler;
+    private final SlayerRewardsMetrics metrics;
+    private final NamespacedKey key;
+    private final int maxGlobal;
+    private final int maxPerChunk;
+    private final int poolPerChunk;
+    private final TimingWheel wheel = new TimingWheel(512);
+    // Chunk slots per world, keyed by packed chunk coordinates
+    private final Map<UUID, Map<Long, ChunkSlot>> chunks = new ConcurrentHashMap<>();
+    // Every display spawned and not yet removed, live or pooled
+    private final Set<TextDisplay> displays = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger live = new AtomicInteger();
+    private final Runnable timer;
+
+    /**
+     * Creates a new manager and starts ticking its timing wheel.
+     *
+     * @param plugin       The host plugin owning the tag key.
+     * @param scheduler    The scheduler used for the wheel and display updates.
+     * @param metrics      The metrics recording hologram counts.
+     * @param maxGlobal    The maximum number of live holograms in total.
+     * @param maxPerChunk  The maximum number of live holograms per chunk.
+     * @param poolPerChunk The number of expired displays each chunk keeps for reuse.
+     */
+    public HologramManager(JavaPlugin plugin, ITaskScheduler scheduler, SlayerRewardsMetrics metrics,
+                           int maxGlobal, int maxPerChunk, int poolPerChunk) {
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+        this.key = new NamespacedKey(plugin, "slayerrewards_hologram");
+        this.maxGlobal = maxGlobal;
+        this.maxPerChunk = maxPerChunk;
+        this.poolPerChunk = poolPerChunk;
+        this.timer = scheduler.runTimer(this::tick, 1L);
+    }
+
+    /**
+     * Shows a hologram, reusing a pooled display of the chunk when possible.
+     * Must be called on the thread owning the location.
+     *
+     * @param location   The location of the hologram.
+     * @param content    The text to show.
+     * @param restricted Whether the display starts hidden and is revealed to selected players only.
+     *                   Such displays are never pooled, as their viewers differ per hologram.
+     * @param style      Applies the appearance to a newly spawned display.
+     * @return The lease on the display, or null if a cap was reached.
+     */
+    public Lease acquire(Location location, Component content, boolean restricted, Consumer<TextDisplay> style) {
+        ChunkSlot slot = slot(location);
+        if (!reserve(slot)) {
+            metrics.getHologramsCapped().increment();
+            return null;
+        }
+        metrics.getHologramsAlive().increment();
+
+        if (!restricted) {
+            TextDisplay pooled;
+            while ((pooled = slot.pool.poll()) != null) {
+                slot.pooled.decrementAndGet();
+                metrics.getHologramsPooled().decrement();
+                if (!pooled.isValid()) {
+                    displays.remove(pooled);
+                    continue;
+                }
+                TextDisplay display = pooled;
+                display.text(content);
+                // Same chunk, so the teleport stays on this thread; show it once it has moved
+                display.teleportAsync(location).thenRun(() -> display.setVisibleByDefault(true));
+                metrics.getHologramsRecycled().increment();
+                return new Lease(display, slot, true);
+            }
+        }
+
+        TextDisplay display = location.getWorld().spawn(location, TextDisplay.class, text -> {
+            text.setPersistent(false);
+            text.getPersistentDataContainer().set(key, PersistentDataType.BYTE, (byte) 1);
+            text.text(content);
+            // Hide before the entity is added to the world so nobody is sent the spawn packet
+            if (restricted) text.setVisibleByDefault(false);
+            style.accept(text);
+        });
+        displays.add(display);
+        metrics.getHologramsSpawned().increment();
+        return new Lease(display, slot, !restricted);
+    }
+
+    /**
+     * Ends a hologram after a delay.
+     *
+     * @param lease      The lease returned by {@link #acquire}.
+     * @param delayTicks The delay in ticks.
+     */
+    public void releaseAfter(Lease lease, long delayTicks) {
+        wheel.schedule(() -> release(lease), delayTicks);
+    }
+
+    /**
+     * Ends a hologram now: the display is parked in its chunk's pool, or removed
+     * if it cannot be reused or the pool is full. May be called from any thread.
+     *
+     * @param lease The lease returned by {@link #acquire}.
+     */
+    public void release(Lease lease) {
+        ChunkSlot slot = lease.slot();
+        slot.live.decrementAndGet();
+        live.decrementAndGet();
+        metrics.getHologramsAlive().decrement();
+
+        TextDisplay display = lease.display();
+        scheduler.runFor(display, () -> {
+            if (!lease.poolable() || slot.pooled.incrementAndGet() > poolPerChunk) {
+                if (lease.poolable()) slot.pooled.decrementAndGet();
+                remove(display);
+                return;
+            }
+            display.setVisibleByDefault(false);
+            display.text(Component.empty());
+            slot.pool.add(display);
+            metrics.getHologramsPooled().increment();
+            wheel.schedule(() -> evict(slot, display), POOL_IDLE_TICKS);
+        });
+    }
+
+    /**
+     * Runs a task on the wheel's ticking thread after a delay.
+     *
+     * @param task       The task to run; it must hop threads before touching entities.
+     * @param delayTicks The delay in ticks.
+     */
+    public void schedule(Runnable task, long delayTicks) {
+        wheel.schedule(task, delayTicks);
+    }
+
+    /**
+     * @return The current tick of the timing wheel.
+     */
+    public long now() {
+        return wheel.now();
+    }
+
+    /**
+     * @return The timing wheel, shared with the other feedback channels.
+     */
+    public TimingWheel getWheel() {
+        return wheel;
+    }
+
+    /**
+     * Removes tagged displays left over in loaded chunks.
+     *
+     * @param event The EntitiesLoadEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof TextDisplay && entity.getPersistentDataContainer().has(key, PersistentDataType.BYTE)) {
+                entity.remove();
+            }
+        }
+    }
+
+    /**
+     * Stops the timing wheel and removes every display, live or pooled.
+     */
+    public void shutdown() {
+        timer.run();
+        for (TextDisplay display : displays) {
+            scheduler.runFor(display, display::remove);
+        }
+        displays.clear();
+        chunks.clear();
+    }
+
+    private void tick() {
+        wheel.advance();
+        if (wheel.now() % CLEANUP_PERIOD_TICKS == 0) cleanup();
+    }
+
+    /**
+     * Takes a live slot in the chunk and globally, or none at all.
+     */
+    private boolean reserve(ChunkSlot slot) {
+        if (live.incrementAndGet() > maxGlobal) {
+            live.decrementAndGet();
+            return false;
+        }
+        if (slot.live.incrementAndGet() > maxPerChunk) {
+            slot.live.decrementAndGet();
+            live.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes a parked display that was not reused in time.
+     */
+    private void evict(ChunkSlot slot, TextDisplay display) {
+        // Reused displays are no longer in the pool; a re-parked one merely leaves early
+        if (!slot.pool.remove(display)) return;
+        slot.pooled.decrementAndGet();
+        metrics.getHologramsPooled().decrement();
+        scheduler.runFor(display, () -> remove(display));
+    }
+
+    private void remove(TextDisplay display) {
+        display.remove();
+        displays.remove(display);
+    }
+
+    /**
+     * Forgets empty chunk slots and displays that unloaded with their chunk.
+     * A hologram racing with the removal may count against a discarded slot,
+     * which only loosens that chunk's cap once.
+     */
+    private void cleanup() {
+        for (Map<Long, ChunkSlot> world : chunks.values()) {
+            for (ChunkSlot slot : world.values()) {
+                for (TextDisplay display : slot.pool) {
+                    if (!display.isValid() && slot.pool.remove(display)) {
+                        slot.pooled.decrementAndGet();
+                        metrics.getHologramsPooled().decrement();
+                    }
+                }
+            }
+            world.values().removeIf(slot -> slot.live.get() <= 0 && slot.pool.isEmpty());
+        }
+        chunks.values().removeIf(Map::isEmpty);
+        displays.removeIf(display -> !display.isValid());
+    }
+
+    private ChunkSlot slot(Location location) {
+        long chunkKey = ((long) (location.getBlockZ() >> 4) << 32) | ((location.getBlockX() >> 4) & 0xFFFFFFFFL);
+        return chunks.computeIfAbsent(location.getWorld().getUID(), w -> new ConcurrentHashMap<>())
+            .computeIfAbsent(chunkKey, k -> new ChunkSlot());
+    }
+
+    /**
+     * A hologram shown on a display.
+     *
+     * @param display  The display showing the hologram.
+     * @param slot     The chunk slot the hologram counts against.
+     * @param poolable Whether the display may be parked for reuse afterwards.
+     */
+    public record Lease(TextDisplay display, ChunkSlot slot, boolean poolable) {
+    }
+
+    /**
+     * Live count and parked displays of one chunk.
+     */
+    public static final class ChunkSlot {
+        private final AtomicInteger live = new AtomicInteger();
+        private final AtomicInteger pooled = new AtomicInteger();
+        private final Queue<TextDisplay> pool = new ConcurrentLinkedQueue<>();
+
+        private ChunkSlot() {
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.mcclauneck.slayerrewards.feedback;
+
+import java.util.Locale;
+
+/**
+ * Controls which players receive a reward hologram.
+ */
+public enum HologramVisibility {
+
+    /**
+     * Normal world entity, sent to every player in tracking range.
+     */
+    ALL,
+
+    /**
+     * Hidden by default and shown only to the killer.
+     */
+    KILLER,
+
+    /**
+     * Hidden by default and shown to the killer and the members of their scoreboard team.
+     */
+    TEAM;
+
+    /**
+     * Parses a visibility mode from config.
+     *
+     * @param name     The configured name, case-insensitive.
+     * @param fallback The value to use when the name is missing or unknown.
+     * @return The parsed visibility.
+     */
+    public static HologramVisibility fromName(String name, HologramVisibility fallback) {
+        if (name == null) return fallback;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.mcclauneck.slayerrewards.feedback;
+
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel running delayed tasks from a single ticking thread.
+ * <p>
+ * Scheduling adds the task to a lock-free inbox from any thread. On every
+ * {@link #advance()} the ticking thread moves the inbox into the slot of each
+ * task's deadline tick, then runs the tasks due in the current slot. Both
+ * operations are O(1) per task, however many are pending, and the whole wheel
+ * costs one scheduler task instead of one per delayed action.
+ * </p>
+ * <p>
+ * Tasks run on the ticking thread and must be short; anything touching an
+ * entity has to hop to the thread owning it.
+ * </p>
+ */
+public class TimingWheel {
+
+    private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+    private final ArrayDeque<Timeout>[] slots;
+    private final int mask;
+    private final Queue<Timeout> inbox = new ConcurrentLinkedQueue<>();
+    // Written by the ticking thread only
+    private volatile long tick;
+
+    /**
+     * Creates a new wheel.
+     *
+     * @param slotCount The number of slots, rounded up to a power of two.
+     *                  Delays longer than the wheel simply stay for extra rounds.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount) {
+        int size = Integer.highestOneBit(Math.max(2, slotCount) - 1) << 1;
+        this.slots = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) slots[i] = new ArrayDeque<>();
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedules a task to run on the ticking thread after a delay.
+     *
+     * @param task       The task to run.
+     * @param delayTicks The delay in ticks (at least 1).
+     */
+    public void schedule(Runnable task, long delayTicks) {
+        inbox.add(new Timeout(task, Math.max(1L, delayTicks)));
+    }
+
+    /**
+     * @return The number of ticks the wheel has advanced.
+     */
+    public long now() {
+        return tick;
+    }
+
+    /**
+     * Advances the wheel by one tick and runs the tasks that became due.
+     * Must only be called from the ticking thread.
+     */
+    public void advance() {
+        long current = tick + 1;
+
+        Timeout timeout;
+        while ((timeout = inbox.poll()) != null) {
+            // Deadlines count from the tick the task was picked up, never earlier than this one
+            timeout.deadline = current - 1 + timeout.delay;
+            slots[(int) (timeout.deadline & mask)].add(timeout);
+        }
+        tick = current;
+
+        Iterator<Timeout> due = slots[(int) (current & mask)].iterator();
+        while (due.hasNext()) {
+            Timeout next = due.next();
+            if (next.deadline > current) continue; // A later round
+            due.remove();
+            try {
+                next.task.run();
+            } catch (RuntimeException e) {
+                logger.error("Timed hologram task failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A pending task.
+     */
+    private static final class Timeout {
+        private final Runnable task;
+        private final long delay;
+        private long deadline;
+
+        private Timeout(Runnable task, long delay) {
+            this.task = task;
+            this.delay = delay;
+        }
+    }
+}
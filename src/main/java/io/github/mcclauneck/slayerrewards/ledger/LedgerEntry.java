@@ -0,0 +1,15 @@
+package io.github.mcclauneck.slayerrewards.ledger;
+
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+
+/**
+ * A payout recorded in the ledger before it is deposited.
+ *
+ * @param id         The ledger id of the payout.
+ * @param playerUuid The UUID of the player to pay.
+ * @param currency   The currency to deposit.
+ * @param amount     The amount to deposit.
+ * @param replays    How many startups have already replayed the payout without an acknowledgement.
+ */
+public record LedgerEntry(long id, String playerUuid, CurrencyType currency, int amount, int replays) {
+}
@@ -0,0 +1,397 @@
+package io.github.mcclauneck.slayerrewards.ledger;
+
+import io.github.mcclauneck.slayerrewards.metrics.SlayerRewardsMetrics;
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of payouts, making rewards survive economy
+ * failures and crashes.
+ * <p>
+ * Every deposit is first logged as pending and only handed to the economy
+ * once that record is on disk; a successful deposit then logs it as done.
+ * A single writer thread drains everything queued while the previous flush
+ * ran and covers the whole batch with one {@code fsync}, so the cost per kill
+ * stays low under farm load.
+ * </p>
+ * <p>
+ * On startup the log is read back and payouts that were never acknowledged,
+ * because the deposit failed or the server stopped first, are returned for
+ * replay. The log is then compacted to just those, and again whenever it
+ * outgrows the configured size. Delivery is at least once: a crash between a
+ * successful deposit and its done record pays that payout again.
+ * </p>
+ * <p>
+ * Each pending record counts the startups that replayed it. A payout the
+ * economy keeps refusing is dropped with a logged error once it has been
+ * replayed {@code maxReplays} times, instead of being retried forever.
+ * </p>
+ * <p>
+ * Records are framed as {@code int length, int crc32, payload}; a torn record
+ * at the end of the file is ignored.
+ * </p>
+ */
+public class RewardLedger implements Runnable {
+
+    private static final byte PENDING = 1;
+    private static final byte DONE = 2;
+    /**
+     * Returned instead of an id when a payout could not be logged.
+     */
+    public static final long UNLOGGED = -1L;
+
+    private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+    private final Path file;
+    private final int maxBatch;
+    private final long compactBytes;
+    private final int maxReplays;
+    private final SlayerRewardsMetrics metrics;
+    private final BlockingQueue<Op> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    // Owned by the writer thread after construction
+    private final Map<Long, LedgerEntry> outstanding = new LinkedHashMap<>();
+    private final List<LedgerEntry> recovered;
+    private final Thread thread;
+    private FileChannel channel;
+    private volatile boolean closed;
+
+    /**
+     * Opens the ledger, recovers unacknowledged payouts and starts the writer thread.
+     *
+     * @param file         The ledger file.
+     * @param maxBatch     The maximum number of records covered by one fsync.
+     * @param compactBytes The file size above which the ledger is compacted.
+     * @param maxReplays   How many startups may replay an unacknowledged payout before it is dropped.
+     * @param metrics      The metrics recording commit latency and pending payouts.
+     * @throws IOException If the ledger cannot be read or opened.
+     */
+    public RewardLedger(File file, int maxBatch, long compactBytes, int maxReplays, SlayerRewardsMetrics metrics) throws IOException {
+        this.file = file.toPath();
+        this.maxBatch = maxBatch;
+        this.compactBytes = compactBytes;
+        this.maxReplays = maxReplays;
+        this.metrics = metrics;
+
+        if (Files.exists(this.file)) read();
+        countReplay();
+        this.recovered = List.copyOf(outstanding.values());
+        // Persists the replay counts before anything is paid again
+        compact();
+
+        this.thread = new Thread(this, "SlayerRewards-Ledger");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return The payouts left unacknowledged by the previous run, to be deposited again.
+     */
+    public List<LedgerEntry> getRecovered() {
+        return recovered;
+    }
+
+    /**
+     * Logs a payout as pending.
+     *
+     * @param playerUuid The UUID of the player to pay.
+     * @param currency   The currency to deposit.
+     * @param amount     The amount to deposit.
+     * @return A future completing with the ledger id once the record is on disk,
+     *         or {@link #UNLOGGED} if it could not be written.
+     */
+    public CompletableFuture<Long> append(String playerUuid, CurrencyType currency, int amount) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        if (closed) {
+            future.complete(UNLOGGED);
+            return future;
+        }
+        LedgerEntry entry = new LedgerEntry(nextId.getAndIncrement(), playerUuid, currency, amount, 0);
+        queue.add(new Op(PENDING, entry, future));
+        return future;
+    }
+
+    /**
+     * Logs a payout as deposited. Does not wait for the disk.
+     *
+     * @param id The ledger id returned by {@link #append}.
+     */
+    public void complete(long id) {
+        if (id == UNLOGGED || closed) return;
+        queue.add(new Op(DONE, new LedgerEntry(id, null, null, 0, 0), null));
+    }
+
+    /**
+     * Stops accepting records, writes what is queued and compacts the log.
+     *
+     * @param timeoutMillis The maximum time to wait for the writer.
+     */
+    public void close(long timeoutMillis) {
+        closed = true;
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes batches until the ledger is closed and the queue is drained.
+     */
+    @Override
+    public void run() {
+        List<Op> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            try {
+                Op first = queue.poll(100L, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed && queue.isEmpty()) break;
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+            } catch (InterruptedException e) {
+                if (closed && queue.isEmpty()) break;
+                continue;
+            }
+
+            commit(batch);
+            batch.clear();
+            if (channelSize() > compactBytes) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    logger.error("Failed to compact reward ledger: " + e.getMessage());
+                }
+            }
+        }
+
+        // Appends racing with close are paid without a record
+        for (Op op; (op = queue.poll()) != null; ) {
+            if (op.future() != null) op.future().complete(UNLOGGED);
+        }
+        try {
+            compact();
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Failed to close reward ledger: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a batch with one fsync, then releases the waiting deposits.
+     */
+    private void commit(List<Op> batch) {
+        long start = System.nanoTime();
+        boolean written = false;
+        long mark = -1L;
+        try {
+            // The channel appends, so its size is where this batch starts
+            mark = channel.size();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (Op op : batch) writeRecord(out, op.type(), op.entry());
+            out.flush();
+
+            write(channel, ByteBuffer.wrap(bytes.toByteArray()));
+            channel.force(false);
+            written = true;
+        } catch (IOException e) {
+            logger.error("Failed to write reward ledger, paying " + batch.size() + " rewards unlogged: " + e.getMessage());
+            discardPartialWrite(mark);
+        }
+
+        for (Op op : batch) {
+            if (op.type() == PENDING) {
+                if (written) outstanding.put(op.entry().id(), op.entry());
+            } else {
+                outstanding.remove(op.entry().id());
+            }
+        }
+        metrics.getLedgerPending().reset();
+        metrics.getLedgerPending().add(outstanding.size());
+        metrics.getLedgerCommit().recordSince(start);
+
+        for (Op op : batch) {
+            if (op.future() != null) op.future().complete(written ? op.entry().id() : UNLOGGED);
+        }
+    }
+
+    /**
+     * Cuts off whatever part of a failed batch reached the file. Recovery stops
+     * at the first torn record, so bytes left there would hide every record
+     * appended after them. Without a known start, the ledger is rewritten instead.
+     */
+    private void discardPartialWrite(long mark) {
+        try {
+            if (mark < 0) throw new IOException("start of the batch unknown");
+            channel.truncate(mark);
+            channel.position(mark);
+        } catch (IOException e) {
+            logger.error("Failed to discard a partial reward ledger write, rewriting the ledger: " + e.getMessage());
+            try {
+                compact();
+            } catch (IOException ex) {
+                logger.error("Failed to rewrite reward ledger: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes a batch's bytes to the ledger file.
+     *
+     * @param channel The ledger channel.
+     * @param buffer  The bytes to write.
+     * @throws IOException If the write fails, possibly after part of the buffer was written.
+     */
+    void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /**
+     * Counts the coming replay of every recovered payout, dropping those that
+     * have used up their replays.
+     */
+    private void countReplay() {
+        Iterator<Map.Entry<Long, LedgerEntry>> iterator = outstanding.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, LedgerEntry> mapping = iterator.next();
+            LedgerEntry entry = mapping.getValue();
+            if (entry.replays() >= maxReplays) {
+                iterator.remove();
+                logger.error("Dropping payout " + entry.id() + " after " + entry.replays() + " failed replays: "
+                    + entry.amount() + " " + entry.currency().getName() + " for " + entry.playerUuid());
+                continue;
+            }
+            mapping.setValue(new LedgerEntry(entry.id(), entry.playerUuid(), entry.currency(), entry.amount(), entry.replays() + 1));
+        }
+    }
+
+    /**
+     * Rewrites the ledger with only the outstanding payouts and reopens it for appending.
+     */
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling("." + file.getFileName() + ".tmp");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(outstanding.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (LedgerEntry entry : outstanding.values()) writeRecord(out, PENDING, entry);
+        out.flush();
+
+        try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) tempChannel.write(buffer);
+            tempChannel.force(true);
+        }
+
+        if (channel != null) channel.close();
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Replays the log into the outstanding map, stopping at the first torn or corrupt record.
+     */
+    private void read() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        long maxId = 0;
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) break;
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) break;
+
+            ByteBuffer record = ByteBuffer.wrap(payload);
+            byte type = record.get();
+            long id = record.getLong();
+            maxId = Math.max(maxId, id);
+            if (type == PENDING) {
+                String playerUuid = readString(record);
+                CurrencyType currency = CurrencyType.fromName(readString(record));
+                int amount = record.getInt();
+                // Records written before replays were counted end after the amount
+                int replays = record.remaining() >= 4 ? record.getInt() : 0;
+                if (currency != null) outstanding.put(id, new LedgerEntry(id, playerUuid, currency, amount, replays));
+            } else if (type == DONE) {
+                outstanding.remove(id);
+            }
+        }
+        nextId.set(maxId + 1);
+    }
+
+    private long channelSize() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void writeRecord(DataOutputStream out, byte type, LedgerEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(type);
+        payload.writeLong(entry.id());
+        if (type == PENDING) {
+            writeString(payload, entry.playerUuid());
+            writeString(payload, entry.currency().getName());
+            payload.writeInt(entry.amount());
+            payload.writeInt(entry.replays());
+        }
+        payload.flush();
+
+        byte[] data = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        out.writeInt(data.length);
+        out.writeInt((int) crc.getValue());
+        out.write(data);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Op(byte type, LedgerEntry entry, CompletableFuture<Long> future) {
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.mcclauneck.slayerrewards.limiter;
+
+import org.bukkit.Location;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Anti-farm limiter tracking the kill rate per chunk and per player.
+ * <p>
+ * Each chunk and player owns a leaky bucket packed into a single
+ * {@link AtomicLong}: the upper 40 bits hold the time of the last update in
+ * milliseconds, the lower 24 bits the current level in 1/256 kill units. A kill
+ * drains the bucket for the elapsed time and adds one kill in a single CAS, so
+ * recording never locks and costs one map lookup per bucket.
+ * </p>
+ * <p>
+ * Rewards scale linearly from full at the soft limit down to nothing at the
+ * hard limit. The buckets drain at the configured sustainable kill rate, so a
+ * farm running above it keeps climbing towards the hard stop.
+ * </p>
+ */
+public class KillRateLimiter implements AutoCloseable {
+
+    private static final int LEVEL_BITS = 24;
+    private static final long LEVEL_MASK = (1L << LEVEL_BITS) - 1;
+    /**
+     * Level units per kill.
+     */
+    private static final long UNIT = 256;
+
+    private final Rule chunkRule;
+    private final Rule playerRule;
+    // Chunk buckets per world, keyed by packed chunk coordinates
+    private final Map<UUID, Map<Long, AtomicLong>> chunks = new ConcurrentHashMap<>();
+    private final Map<UUID, AtomicLong> players = new ConcurrentHashMap<>();
+    private final long epochNanos = System.nanoTime();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "SlayerRewards-Limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a new limiter and starts removing drained buckets once a minute.
+     *
+     * @param chunkRule  The limits applied per chunk.
+     * @param playerRule The limits applied per player.
+     */
+    public KillRateLimiter(Rule chunkRule, Rule playerRule) {
+        this.chunkRule = chunkRule;
+        this.playerRule = playerRule;
+        sweeper.scheduleWithFixedDelay(this::sweep, 1L, 1L, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Records a kill and returns how much of the reward it still earns.
+     *
+     * @param killer   The UUID of the killer.
+     * @param location The location of the kill.
+     * @return The reward multiplier between 0 (blocked) and 1 (unlimited).
+     */
+    public double recordKill(UUID killer, Location location) {
+        long now = now();
+        long chunkKey = chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        AtomicLong chunk = chunks.computeIfAbsent(location.getWorld().getUID(), w -> new ConcurrentHashMap<>())
+            .computeIfAbsent(chunkKey, k -> new AtomicLong(now << LEVEL_BITS));
+        AtomicLong player = players.computeIfAbsent(killer, k -> new AtomicLong(now << LEVEL_BITS));
+
+        double chunkMultiplier = chunkRule.multiplier(add(chunk, now, chunkRule));
+        double playerMultiplier = playerRule.multiplier(add(player, now, playerRule));
+        return Math.min(chunkMultiplier, playerMultiplier);
+    }
+
+    /**
+     * Stops the sweeper and forgets all buckets.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        chunks.clear();
+        players.clear();
+    }
+
+    /**
+     * Drains a bucket for the elapsed time and adds one kill.
+     *
+     * @return The new level in kill units.
+     */
+    private static long add(AtomicLong bucket, long now, Rule rule) {
+        while (true) {
+            long current = bucket.get();
+            long last = current >>> LEVEL_BITS;
+            long level = current & LEVEL_MASK;
+            long leaked = leaked(last, now, rule);
+            long next = Math.min(LEVEL_MASK, Math.max(0, level - leaked) + UNIT);
+            // The timestamp only advances once something leaked, so kills closer
+            // together than one unit of drainage do not swallow it
+            long stamp = leaked > 0 || level == 0 ? now : last;
+            if (bucket.compareAndSet(current, (stamp << LEVEL_BITS) | next)) return next;
+        }
+    }
+
+    /**
+     * @return The level of a bucket after draining it up to {@code now}, in kill units.
+     */
+    private static long drained(long state, long now, Rule rule) {
+        return Math.max(0, (state & LEVEL_MASK) - leaked(state >>> LEVEL_BITS, now, rule));
+    }
+
+    private static long leaked(long last, long now, Rule rule) {
+        return (long) (Math.max(0, now - last) * rule.leakPerMilli());
+    }
+
+    /**
+     * Removes buckets that have fully drained. A kill racing with the removal
+     * may land on the discarded bucket and be forgotten, which only ever errs
+     * in the player's favour.
+     */
+    private void sweep() {
+        long now = now();
+        for (Map<Long, AtomicLong> world : chunks.values()) {
+            world.values().removeIf(bucket -> drained(bucket.get(), now, chunkRule) == 0);
+        }
+        chunks.values().removeIf(Map::isEmpty);
+        players.values().removeIf(bucket -> drained(bucket.get(), now, playerRule) == 0);
+    }
+
+    private long now() {
+        return (System.nanoTime() - epochNanos) / 1_000_000L;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Limits for one kind of bucket.
+     *
+     * @param killsPerMinute The sustainable kill rate; buckets drain at this rate.
+     * @param softLimit      The level up to which kills earn the full reward.
+     * @param hardLimit      The level at which kills earn nothing.
+     */
+    public record Rule(double killsPerMinute, double softLimit, double hardLimit) {
+
+        /**
+         * @return The drainage per millisecond, in kill units.
+         */
+        private double leakPerMilli() {
+            return killsPerMinute * UNIT / 60_000.0;
+        }
+
+        /**
+         * Maps a bucket level to a reward multiplier.
+         *
+         * @param level The level in kill units.
+         * @return The multiplier between 0 and 1.
+         */
+        private double multiplier(long level) {
+            double kills = (double) level / UNIT;
+            if (kills <= softLimit) return 1.0;
+            if (kills >= hardLimit) return 0.0;
+            return (hardLimit - kills) / (hardLimit - softLimit);
+        }
+    }
+}
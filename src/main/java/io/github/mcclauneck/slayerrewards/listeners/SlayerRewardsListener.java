@@ -1,22 +1,23 @@
 package io.github.mcclauneck.slayerrewards.listeners;
 
 import io.github.mcclauneck.slayerrewards.common.SlayerRewardsProvider;
-import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import io.github.mcclauneck.slayerrewards.common.SpawnReasonTag;
+import io.github.mcclauneck.slayerrewards.limiter.KillRateLimiter;
+import io.github.mcclauneck.slayerrewards.metrics.SlayerRewardsMetrics;
+import io.github.mcclauneck.slayerrewards.registry.LootPool;
+import io.github.mcclauneck.slayerrewards.registry.MobReward;
 import org.bukkit.Location;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
 import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -24,19 +25,14 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class SlayerRewardsListener implements Listener {
 
-    private final Executor executor;
     private final SlayerRewardsProvider provider;
-    // Cache map to store configurations and reduce disk I/O
-    private final Map<String, CachedConfig> configCache = new HashMap<>();
 
     /**
      * Creates a new listener instance.
      *
-     * @param executor The executor for handling tasks off the main thread.
      * @param provider The provider logic for processing rewards.
      */
-    public SlayerRewardsListener(Executor executor, SlayerRewardsProvider provider) {
-        this.executor = executor;
+    public SlayerRewardsListener(SlayerRewardsProvider provider) {
         this.provider = provider;
     }
 
@@ -44,94 +40,137 @@ public class SlayerRewardsListener implements Listener {
      * Handles the death of an entity.
      * <p>
      * 1. Synchronously handles custom item drops and cancelling default drops.
-     * 2. Asynchronously handles money calculation and database transactions.
+     * 2. Asynchronously handles money calculation and database transactions on the reward dispatcher.
      * </p>
      *
      * @param event The EntityDeathEvent.
      */
     @EventHandler
     public void onMobKill(EntityDeathEvent event) {
-        if (event.getEntity().getKiller() instanceof Player) {
-            Player killer = event.getEntity().getKiller();
-            String playerUuid = killer.getUniqueId().toString();
-            String mobType = event.getEntityType().name();
+        Player killer = event.getEntity().getKiller();
+        if (killer == null) return;
 
-            // 1. Handle Custom Drops (Must be Sync)
-            handleCustomDrops(event, mobType);
+        SlayerRewardsMetrics metrics = provider.getMetrics();
+        long start = System.nanoTime();
 
-            // 2. Handle Money Reward (Async)
-            // Capture location before async execution to avoid race conditions
-            Location loc = event.getEntity().getLocation();
+        // Capture location before async execution to avoid race conditions
+        Location loc = event.getEntity().getLocation();
 
-            executor.execute(() -> {
-                provider.rewardMoney(playerUuid, mobType, loc);
-            });
+        // O(1) lookup in the region, world and global tables; unconfigured mobs stop here
+        MobReward reward = provider.resolve(event.getEntityType(), loc);
+        if (reward == null) {
+            metrics.getRegistryMisses().increment();
+            metrics.getKillHandler().recordSince(start);
+            return;
         }
-    }
-
-    /**
-     * Processes custom item drops defined in the mob's YAML file.
-     *
-     * @param event   The death event (to modify drops).
-     * @param mobType The type of mob killed.
-     */
-    private void handleCustomDrops(EntityDeathEvent event, String mobType) {
-        File mobFile = new File(provider.getMobsFolder(), mobType.toLowerCase() + ".yml");
-        if (!mobFile.exists()) return;
-
-        // Caching Logic: Check last modified time to prevent unnecessary disk reads
-        long currentLastModified = mobFile.lastModified();
-        CachedConfig cached = configCache.get(mobType);
-
-        // Reload config and re-deserialize items only if file changed or not cached
-        if (cached == null || cached.lastModified() != currentLastModified) {
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(mobFile);
-            boolean cancelDefault = config.getBoolean("cancel_default_drops", false);
-            List<CustomDrop> parsedDrops = new ArrayList<>();
-
-            ConfigurationSection section = config.getConfigurationSection("item_drop");
-            if (section != null) {
-                for (String key : section.getKeys(false)) {
-                    double chance = section.getDouble(key + ".chance", 100.0);
-                    String base64 = section.getString(key + ".metadata");
-                    int amount = section.getInt(key + ".amount", 1);
-
-                    if (base64 != null && !base64.isEmpty()) {
-                        // Heavy Base64 deserialization happens here, once per file load
-                        ItemStack item = EditorUtil.itemStackFromBase64(base64);
-                        if (item != null) {
-                            parsedDrops.add(new CustomDrop(chance, item, amount));
-                        }
-                    }
-                }
+        metrics.getRegistryHits().increment();
+
+        // Spawner and spawn egg mobs pay their separate reward, or no money at all;
+        // without a separate reward the mob's own drops still apply
+        boolean paysMoney = true;
+        SpawnReasonTag spawnTag = provider.getSpawnTag();
+        if (spawnTag.isEnabled()) {
+            SpawnReason spawnReason = spawnTag.read(event.getEntity());
+            if (spawnReason != null) {
+                metrics.getSpawnTagged().increment();
+                MobReward override = reward.forSpawnReason(spawnReason);
+                if (override != null) reward = override;
+                else paysMoney = false;
             }
-            cached = new CachedConfig(currentLastModified, parsedDrops, cancelDefault);
-            configCache.put(mobType, cached);
         }
 
-        // Check if we should cancel vanilla drops
-        if (cached.cancelDefault()) {
-            event.getDrops().clear();
+        // Charged, baby, named or PDC-tagged mobs may pay a variant's reward instead
+        reward = reward.match(event.getEntity());
+
+        String playerUuid = killer.getUniqueId().toString();
+
+        // Anti-farm: share of the reward this kill still earns
+        KillRateLimiter limiter = provider.getLimiter();
+        double multiplier = limiter != null ? limiter.recordKill(killer.getUniqueId(), loc) : 1.0;
+        if (multiplier < 1.0) {
+            if (multiplier <= 0.0) metrics.getKillsBlocked().increment();
+            else metrics.getKillsLimited().increment();
         }
 
-        // Process pre-cached drop list
-        for (CustomDrop drop : cached.drops()) {
-            if (ThreadLocalRandom.current().nextDouble() * 100 < drop.chance()) {
-                // Must clone the item to avoid modifying the cached instance
-                ItemStack item = drop.item().clone();
-                item.setAmount(drop.amount());
-                event.getDrops().add(item);
-            }
+        // 1. Handle Custom Drops (Must be Sync)
+        long dropsStart = System.nanoTime();
+        handleCustomDrops(event, reward, provider.getConfig().isLimitDrops() ? multiplier : 1.0);
+        metrics.getCustomDrops().recordSince(dropsStart);
+
+        // 2. Handle Money Reward (Async)
+        // Blocked kills never reach the economy, and so never spawn a hologram
+        if (paysMoney && multiplier > 0.0) {
+            // Rank multiplier is cached per player; a plain multiply here
+            double rank = provider.getMultipliers().get(killer);
+            // Bounded dispatcher owned by this extension; the shared executor is left alone
+            provider.dispatchReward(playerUuid, reward, loc, multiplier * rank);
         }
+        metrics.getKillHandler().recordSince(start);
     }
 
     /**
-     * Record to hold a single parsed drop.
+     * Resolves the player's rank multiplier afresh.
+     *
+     * @param event The PlayerJoinEvent.
      */
-    private record CustomDrop(double chance, ItemStack item, int amount) {}
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        provider.getMultipliers().invalidate(event.getPlayer().getUniqueId());
+    }
 
     /**
-     * Record to hold cached configuration data.
+     * Resolves the player's rank multiplier afresh, as permissions may be per world.
+     *
+     * @param event The PlayerChangedWorldEvent.
      */
-    private record CachedConfig(long lastModified, List<CustomDrop> drops, boolean cancelDefault) {}
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        provider.getMultipliers().invalidate(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Deposits the player's coalesced payouts before they leave.
+     *
+     * @param event The PlayerQuitEvent.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        provider.flushPlayer(event.getPlayer().getUniqueId().toString());
+        provider.getMultipliers().invalidate(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Processes the pre-compiled custom item drops of the mob.
+     *
+     * @param event      The death event (to modify drops).
+     * @param reward     The compiled reward of the mob killed.
+     * @param multiplier The chance each custom drop survives the anti-farm limiter.
+     */
+    private void handleCustomDrops(EntityDeathEvent event, MobReward reward, double multiplier) {
+        // Check if we should cancel vanilla drops
+        if (reward.cancelDefaultDrops()) {
+            event.getDrops().clear();
+        }
+        if (multiplier <= 0.0) return;
+
+        List<ItemStack> drops = event.getDrops();
+        int vanilla = drops.size();
+
+        // Process pre-compiled drop table; rare groups use geometric skip sampling
+        // Items are cloned to avoid modifying the cached instances
+        reward.drops().roll(event.getDrops());
+
+        // Exclusive pools: O(1) alias sampling per roll regardless of pool size
+        for (LootPool pool : reward.pools()) {
+            pool.roll(event.getDrops());
+        }
+
+        // Limited kills keep each rolled custom drop with the reward multiplier as chance
+        if (multiplier < 1.0) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = drops.size() - 1; i >= vanilla; i--) {
+                if (random.nextDouble() >= multiplier) drops.remove(i);
+            }
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package io.github.mcclauneck.slayerrewards.listeners;
+
+import io.github.mcclauneck.slayerrewards.common.SpawnReasonTag;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+
+/**
+ * Stamps spawner and spawn egg mobs so their kills can be told apart.
+ */
+public class SpawnReasonListener implements Listener {
+
+    private final SpawnReasonTag tag;
+
+    /**
+     * Creates a new listener instance.
+     *
+     * @param tag The tag written onto mobs with a tagged spawn reason.
+     */
+    public SpawnReasonListener(SpawnReasonTag tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Tags the mob once its spawn is certain.
+     *
+     * @param event The CreatureSpawnEvent.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCreatureSpawn(CreatureSpawnEvent event) {
+        tag.tag(event.getEntity(), event.getSpawnReason());
+    }
+}
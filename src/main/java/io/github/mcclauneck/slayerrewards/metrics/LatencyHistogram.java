@@ -0,0 +1,128 @@
+package io.github.mcclauneck.slayerrewards.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets.
+ * <p>
+ * Bucket {@code b} counts durations in {@code [2^(b-1), 2^b)} nanoseconds, so
+ * recording is a leading-zero count plus two striped additions. Percentiles are
+ * reported as the upper bound of their bucket, which is accurate to within 2x
+ * and cheap enough to leave on in production.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Number of buckets; the last one collects everything from 2^38 ns (about 4.6 minutes) up.
+     */
+    public static final int BUCKETS = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values count as zero.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[bucket(nanos)].increment();
+        count.increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading.
+     *
+     * @param startNanos The start time.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return The number of recorded durations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The sum of all recorded durations, in nanoseconds.
+     */
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    /**
+     * @return The largest recorded duration, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return The mean duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : sumNanos.sum() / n;
+    }
+
+    /**
+     * Estimates a percentile as the upper bound of the bucket containing it.
+     *
+     * @param quantile The quantile between 0 and 1, e.g. 0.99.
+     * @return The estimated duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentileNanos(double quantile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long c : counts) total += c;
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) return Math.min(upperBound(b), getMaxNanos());
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * @return A copy of the per-bucket counts.
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) counts[b] = buckets[b].sum();
+        return counts;
+    }
+
+    /**
+     * Gets the exclusive upper bound of a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The upper bound in nanoseconds.
+     */
+    public static long upperBound(int bucket) {
+        return 1L << bucket;
+    }
+
+    private static int bucket(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.mcclauneck.slayerrewards.metrics;
+
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the metrics to a file in the extension folder.
+ * <p>
+ * The file is replaced atomically so scrapers never read a partial export.
+ * Writing happens on its own daemon thread and never touches the server threads.
+ * </p>
+ */
+public class MetricsExporter implements AutoCloseable {
+
+    private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+    private final SlayerRewardsMetrics metrics;
+    private final MetricsFormat format;
+    private final Path target;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "SlayerRewards-Metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts exporting.
+     *
+     * @param metrics         The metrics to export.
+     * @param folder          The folder to write the file to.
+     * @param format          The file format.
+     * @param intervalSeconds The time between two exports.
+     */
+    public MetricsExporter(SlayerRewardsMetrics metrics, File folder, MetricsFormat format, long intervalSeconds) {
+        this.metrics = metrics;
+        this.format = format;
+        this.target = new File(folder, format.getFileName()).toPath();
+        timer.scheduleWithFixedDelay(this::export, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes the current metrics to the export file.
+     */
+    public void export() {
+        Path temp = target.resolveSibling("." + target.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, format.render(metrics), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to export metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops exporting after writing one final export.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        export();
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.mcclauneck.slayerrewards.metrics;
+
+import java.util.Locale;
+
+/**
+ * File format of the periodic metrics export.
+ */
+public enum MetricsFormat {
+
+    /**
+     * Prometheus text exposition format, for the node exporter's textfile collector.
+     */
+    PROMETHEUS("metrics.prom"),
+
+    /**
+     * A flat JSON object with summarized latencies.
+     */
+    JSON("metrics.json");
+
+    private final String fileName;
+
+    MetricsFormat(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * @return The name of the exported file.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Renders the metrics in this format.
+     *
+     * @param metrics The metrics to render.
+     * @return The file content.
+     */
+    public String render(SlayerRewardsMetrics metrics) {
+        return this == JSON ? metrics.toJson() : metrics.toPrometheus();
+    }
+
+    /**
+     * Parses a format from config.
+     *
+     * @param name     The configured name, case-insensitive.
+     * @param fallback The value to use when the name is missing or unknown.
+     * @return The parsed format.
+     */
+    public static MetricsFormat fromName(String name, MetricsFormat fallback) {
+        if (name == null) return fallback;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
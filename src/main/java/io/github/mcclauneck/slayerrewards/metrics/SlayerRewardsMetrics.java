@@ -0,0 +1,309 @@
+package io.github.mcclauneck.slayerrewards.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hot-path instrumentation of the extension.
+ * <p>
+ * Every measurement is a {@link LongAdder} or a {@link LatencyHistogram}, so
+ * recording never takes a lock and costs a few nanoseconds even under
+ * contention from several region threads. Counters only ever grow; gauges go
+ * up and down and describe the current state.
+ * </p>
+ */
+public class SlayerRewardsMetrics {
+
+    private final LatencyHistogram killHandler = new LatencyHistogram();
+    private final LatencyHistogram customDrops = new LatencyHistogram();
+    private final LatencyHistogram payout = new LatencyHistogram();
+    private final LatencyHistogram ledgerCommit = new LatencyHistogram();
+    private final LongAdder registryHits = new LongAdder();
+    private final LongAdder registryMisses = new LongAdder();
+    private final LongAdder economyFailures = new LongAdder();
+    private final LongAdder hologramsSpawned = new LongAdder();
+    private final LongAdder hologramsAlive = new LongAdder();
+    private final LongAdder hologramsRecycled = new LongAdder();
+    private final LongAdder hologramsCapped = new LongAdder();
+    private final LongAdder hologramsPooled = new LongAdder();
+    private final LongAdder executorQueued = new LongAdder();
+    private final LongAdder rewardsOverflowed = new LongAdder();
+    private final LongAdder rewardsDropped = new LongAdder();
+    private final LongAdder depositsInFlight = new LongAdder();
+    private final LongAdder killsLimited = new LongAdder();
+    private final LongAdder killsBlocked = new LongAdder();
+    private final LongAdder spawnTagged = new LongAdder();
+    private final LongAdder ledgerReplayed = new LongAdder();
+    private final LongAdder ledgerPending = new LongAdder();
+
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private final Map<String, LongAdder> counters = new LinkedHashMap<>();
+    private final Map<String, LongAdder> gauges = new LinkedHashMap<>();
+
+    /**
+     * Creates the metric set with every value at zero.
+     */
+    public SlayerRewardsMetrics() {
+        histograms.put("kill_handler", killHandler);
+        histograms.put("custom_drops", customDrops);
+        histograms.put("payout", payout);
+        histograms.put("ledger_commit", ledgerCommit);
+
+        counters.put("registry_hits", registryHits);
+        counters.put("registry_misses", registryMisses);
+        counters.put("economy_failures", economyFailures);
+        counters.put("holograms_spawned", hologramsSpawned);
+        counters.put("holograms_recycled", hologramsRecycled);
+        counters.put("holograms_capped", hologramsCapped);
+        counters.put("rewards_overflowed", rewardsOverflowed);
+        counters.put("rewards_dropped", rewardsDropped);
+        counters.put("kills_limited", killsLimited);
+        counters.put("kills_blocked", killsBlocked);
+        counters.put("spawn_tagged_kills", spawnTagged);
+        counters.put("ledger_replayed", ledgerReplayed);
+
+        gauges.put("holograms_alive", hologramsAlive);
+        gauges.put("holograms_pooled", hologramsPooled);
+        gauges.put("executor_queued", executorQueued);
+        gauges.put("deposits_in_flight", depositsInFlight);
+        gauges.put("ledger_pending", ledgerPending);
+    }
+
+    /**
+     * @return Duration of the whole EntityDeathEvent handler.
+     */
+    public LatencyHistogram getKillHandler() {
+        return killHandler;
+    }
+
+    /**
+     * @return Duration of rolling and adding the custom drops.
+     */
+    public LatencyHistogram getCustomDrops() {
+        return customDrops;
+    }
+
+    /**
+     * @return Time from a kill being rewarded to its deposit completing, including any coalescing window.
+     */
+    public LatencyHistogram getPayout() {
+        return payout;
+    }
+
+    /**
+     * @return Kills of mobs that have a compiled reward.
+     */
+    public LongAdder getRegistryHits() {
+        return registryHits;
+    }
+
+    /**
+     * @return Kills of mobs without a reward.
+     */
+    public LongAdder getRegistryMisses() {
+        return registryMisses;
+    }
+
+    /**
+     * @return Deposits that returned false or failed exceptionally.
+     */
+    public LongAdder getEconomyFailures() {
+        return economyFailures;
+    }
+
+    /**
+     * @return Hologram entities spawned.
+     */
+    public LongAdder getHologramsSpawned() {
+        return hologramsSpawned;
+    }
+
+    /**
+     * @return Holograms currently shown.
+     */
+    public LongAdder getHologramsAlive() {
+        return hologramsAlive;
+    }
+
+    /**
+     * @return Holograms shown on a pooled display instead of a newly spawned one.
+     */
+    public LongAdder getHologramsRecycled() {
+        return hologramsRecycled;
+    }
+
+    /**
+     * @return Holograms skipped because the global or chunk cap was reached.
+     */
+    public LongAdder getHologramsCapped() {
+        return hologramsCapped;
+    }
+
+    /**
+     * @return Hidden displays currently waiting in the pool for reuse.
+     */
+    public LongAdder getHologramsPooled() {
+        return hologramsPooled;
+    }
+
+    /**
+     * @return Reward tasks handed to the dispatcher that have not started yet.
+     */
+    public LongAdder getExecutorQueued() {
+        return executorQueued;
+    }
+
+    /**
+     * @return Kills that found the reward dispatcher full.
+     */
+    public LongAdder getRewardsOverflowed() {
+        return rewardsOverflowed;
+    }
+
+    /**
+     * @return Rewards dropped because the dispatcher stayed full.
+     */
+    public LongAdder getRewardsDropped() {
+        return rewardsDropped;
+    }
+
+    /**
+     * @return Economy deposits that have been issued but not completed.
+     */
+    public LongAdder getDepositsInFlight() {
+        return depositsInFlight;
+    }
+
+    /**
+     * @return Kills whose reward the anti-farm limiter reduced.
+     */
+    public LongAdder getKillsLimited() {
+        return killsLimited;
+    }
+
+    /**
+     * @return Kills the anti-farm limiter denied any reward.
+     */
+    public LongAdder getKillsBlocked() {
+        return killsBlocked;
+    }
+
+    /**
+     * @return Kills of mobs tagged with a spawn reason, such as spawner mobs.
+     */
+    public LongAdder getSpawnTagged() {
+        return spawnTagged;
+    }
+
+    /**
+     * @return Duration of writing and fsyncing one ledger batch.
+     */
+    public LatencyHistogram getLedgerCommit() {
+        return ledgerCommit;
+    }
+
+    /**
+     * @return Payouts from a previous run deposited again from the ledger.
+     */
+    public LongAdder getLedgerReplayed() {
+        return ledgerReplayed;
+    }
+
+    /**
+     * @return Payouts logged in the ledger but not yet acknowledged by the economy.
+     */
+    public LongAdder getLedgerPending() {
+        return ledgerPending;
+    }
+
+    /**
+     * @return The latency histograms by metric name, in display order.
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * @return The monotonic counters by metric name, in display order.
+     */
+    public Map<String, LongAdder> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * @return The gauges by metric name, in display order.
+     */
+    public Map<String, LongAdder> getGauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format.
+     *
+     * @return The exposition text.
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            String name = "slayerrewards_" + entry.getKey() + "_seconds";
+            LatencyHistogram histogram = entry.getValue();
+            out.append("# TYPE ").append(name).append(" histogram\n");
+
+            long[] counts = histogram.getBucketCounts();
+            long cumulative = 0;
+            for (int b = 0; b < counts.length; b++) {
+                cumulative += counts[b];
+                // Skip leading empty buckets to keep the file short
+                if (cumulative == 0) continue;
+                out.append(name).append("_bucket{le=\"").append(seconds(LatencyHistogram.upperBound(b))).append("\"} ")
+                    .append(cumulative).append('\n');
+            }
+            out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+            out.append(name).append("_sum ").append(seconds(histogram.getSumNanos())).append('\n');
+            out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+        }
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            String name = "slayerrewards_" + entry.getKey() + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            out.append(name).append(' ').append(entry.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<String, LongAdder> entry : gauges.entrySet()) {
+            String name = "slayerrewards_" + entry.getKey();
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            out.append(name).append(' ').append(entry.getValue().sum()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Renders all metrics as a JSON object; latencies are in nanoseconds.
+     *
+     * @return The JSON text.
+     */
+    public String toJson() {
+        StringBuilder out = new StringBuilder("{\n  \"timestamp\": ").append(System.currentTimeMillis());
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.append(",\n  \"").append(entry.getKey()).append("\": {")
+                .append("\"count\": ").append(histogram.getCount())
+                .append(", \"mean_ns\": ").append(histogram.getMeanNanos())
+                .append(", \"p50_ns\": ").append(histogram.getPercentileNanos(0.50))
+                .append(", \"p99_ns\": ").append(histogram.getPercentileNanos(0.99))
+                .append(", \"max_ns\": ").append(histogram.getMaxNanos())
+                .append('}');
+        }
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            out.append(",\n  \"").append(entry.getKey()).append("\": ").append(entry.getValue().sum());
+        }
+        for (Map.Entry<String, LongAdder> entry : gauges.entrySet()) {
+            out.append(",\n  \"").append(entry.getKey()).append("\": ").append(entry.getValue().sum());
+        }
+        return out.append("\n}\n").toString();
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1_000_000_000.0);
+    }
+}
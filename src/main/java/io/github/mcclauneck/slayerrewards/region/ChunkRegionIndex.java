@@ -0,0 +1,151 @@
+package io.github.mcclauneck.slayerrewards.region;
+
+import io.github.mcclauneck.slayerrewards.registry.MobReward;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable spatial index from packed chunk coordinates to the regions
+ * overlapping that chunk, for a single world.
+ * <p>
+ * The index is an open-addressing hash table over primitive {@code long} keys
+ * with linear probing, so a lookup neither boxes the key nor walks a bucket
+ * chain. Most chunks hold no region and end at the first empty slot; the
+ * others yield a short array already ordered by priority.
+ * </p>
+ * <p>
+ * Regions spanning more than {@link #MAX_CHUNKS} chunks are not indexed by
+ * chunk, since a single world-sized region would otherwise fill the table with
+ * millions of entries. They are kept in one short fallback list per world and
+ * checked on every lookup instead.
+ * </p>
+ */
+public final class ChunkRegionIndex {
+
+    /**
+     * The largest number of chunks a region may span and still be indexed by chunk.
+     */
+    public static final int MAX_CHUNKS = 1024;
+
+    private static final RegionTable[] NONE = new RegionTable[0];
+
+    // Higher priority first, then the smaller region
+    private static final Comparator<RegionTable> ORDER = Comparator
+        .comparingInt((RegionTable table) -> table.region().priority()).reversed()
+        .thenComparingLong(table -> table.region().volume());
+
+    private final long[] keys;
+    private final RegionTable[][] values;
+    private final int mask;
+    // Regions too large to index by chunk, in lookup order
+    private final RegionTable[] fallback;
+
+    private ChunkRegionIndex(long[] keys, RegionTable[][] values, RegionTable[] fallback) {
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Indexes the given regions by every chunk they overlap.
+     * <p>
+     * Within a chunk, higher priority comes first, then the smaller region.
+     * </p>
+     *
+     * @param tables The regions of one world with their reward tables.
+     * @return The compiled index.
+     */
+    public static ChunkRegionIndex build(List<RegionTable> tables) {
+        Map<Long, List<RegionTable>> byChunk = new HashMap<>();
+        List<RegionTable> fallback = new ArrayList<>();
+        for (RegionTable table : tables) {
+            Region region = table.region();
+            long spanX = (long) (region.maxX() >> 4) - (region.minX() >> 4) + 1;
+            long spanZ = (long) (region.maxZ() >> 4) - (region.minZ() >> 4) + 1;
+            if (spanX * spanZ > MAX_CHUNKS) {
+                fallback.add(table);
+                continue;
+            }
+            for (int cx = region.minX() >> 4; cx <= region.maxX() >> 4; cx++) {
+                for (int cz = region.minZ() >> 4; cz <= region.maxZ() >> 4; cz++) {
+                    byChunk.computeIfAbsent(chunkKey(cx, cz), k -> new ArrayList<>()).add(table);
+                }
+            }
+        }
+
+        // Load factor at most 0.5 keeps probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(2, byChunk.size() * 2 - 1)) << 1;
+        long[] keys = new long[capacity];
+        RegionTable[][] values = new RegionTable[capacity][];
+        for (Map.Entry<Long, List<RegionTable>> entry : byChunk.entrySet()) {
+            List<RegionTable> list = entry.getValue();
+            list.sort(ORDER);
+
+            long key = entry.getKey();
+            int slot = slot(key, capacity - 1);
+            while (values[slot] != null) slot = (slot + 1) & (capacity - 1);
+            keys[slot] = key;
+            values[slot] = list.toArray(new RegionTable[0]);
+        }
+        fallback.sort(ORDER);
+        return new ChunkRegionIndex(keys, values, fallback.toArray(NONE));
+    }
+
+    /**
+     * Gets the reward of the first region containing a block position that
+     * overrides the given mob.
+     * <p>
+     * The regions of the position's chunk and the fallback regions are both
+     * sorted, so they are merged in lookup order without allocating.
+     * </p>
+     *
+     * @param type The entity type killed.
+     * @param x    The block X.
+     * @param y    The block Y.
+     * @param z    The block Z.
+     * @return The region reward, or null if no region containing the position overrides the mob.
+     */
+    public MobReward get(EntityType type, int x, int y, int z) {
+        RegionTable[] chunk = chunk(x, z);
+        int i = 0;
+        int j = 0;
+        while (i < chunk.length || j < fallback.length) {
+            RegionTable table = j >= fallback.length || (i < chunk.length && ORDER.compare(chunk[i], fallback[j]) <= 0)
+                ? chunk[i++]
+                : fallback[j++];
+            if (!table.region().contains(x, y, z)) continue;
+            MobReward reward = table.registry().get(type);
+            if (reward != null) return reward;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the indexed regions overlapping the chunk of a block position.
+     */
+    private RegionTable[] chunk(int x, int z) {
+        long key = chunkKey(x >> 4, z >> 4);
+        int slot = slot(key, mask);
+        while (true) {
+            RegionTable[] value = values[slot];
+            if (value == null) return NONE;
+            if (keys[slot] == key) return value;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        // Fibonacci hashing spreads neighbouring chunks across the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.mcclauneck.slayerrewards.region;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * A cuboid area paying from its own reward table.
+ * <p>
+ * Regions are configured under {@code regions.<name>} in config.yml; their mob
+ * files live in {@code mobs/regions/<name>/}:
+ * </p>
+ * <pre>
+ * regions:
+ *   crypt:
+ *     world: world
+ *     min: "100,0,-50"   # Inclusive block corner
+ *     max: "180,60,30"   # Inclusive block corner
+ *     priority: 10       # Higher wins where regions overlap
+ * </pre>
+ *
+ * @param name     The region name, also the name of its mob folder.
+ * @param world    The name of the world the region lies in.
+ * @param minX     The lowest block X (inclusive).
+ * @param minY     The lowest block Y (inclusive).
+ * @param minZ     The lowest block Z (inclusive).
+ * @param maxX     The highest block X (inclusive).
+ * @param maxY     The highest block Y (inclusive).
+ * @param maxZ     The highest block Z (inclusive).
+ * @param priority The priority among overlapping regions.
+ */
+public record Region(String name, String world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, int priority) {
+
+    /**
+     * Checks whether a block position lies inside the region.
+     *
+     * @param x The block X.
+     * @param y The block Y.
+     * @param z The block Z.
+     * @return Whether the position is inside.
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * @return The number of blocks in the region.
+     */
+    public long volume() {
+        return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+    }
+
+    /**
+     * Parses a region section.
+     *
+     * @param name    The region name.
+     * @param section The {@code regions.<name>} section.
+     * @return The region, or null if the world or a corner is missing or malformed.
+     */
+    public static Region parse(String name, ConfigurationSection section) {
+        String world = section.getString("world");
+        int[] min = corner(section.getString("min"));
+        int[] max = corner(section.getString("max"));
+        if (world == null || min == null || max == null) return null;
+
+        return new Region(name, world,
+            Math.min(min[0], max[0]), Math.min(min[1], max[1]), Math.min(min[2], max[2]),
+            Math.max(min[0], max[0]), Math.max(min[1], max[1]), Math.max(min[2], max[2]),
+            section.getInt("priority", 0));
+    }
+
+    private static int[] corner(String raw) {
+        if (raw == null) return null;
+        String[] parts = raw.split(",");
+        if (parts.length != 3) return null;
+        try {
+            return new int[] {
+                Integer.parseInt(parts[0].trim()),
+                Integer.parseInt(parts[1].trim()),
+                Integer.parseInt(parts[2].trim())
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.mcclauneck.slayerrewards.region;
+
+import io.github.mcclauneck.slayerrewards.registry.RewardRegistry;
+
+/**
+ * A region together with its compiled reward table.
+ *
+ * @param region   The region bounds.
+ * @param registry The rewards of the mobs configured for the region.
+ */
+public record RegionTable(Region region, RewardRegistry registry) {
+}
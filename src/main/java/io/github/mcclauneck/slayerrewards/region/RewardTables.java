@@ -0,0 +1,95 @@
+package io.github.mcclauneck.slayerrewards.region;
+
+import io.github.mcclauneck.slayerrewards.registry.IRewardSource;
+import io.github.mcclauneck.slayerrewards.registry.LoadReport;
+import io.github.mcclauneck.slayerrewards.registry.MobReward;
+import io.github.mcclauneck.slayerrewards.registry.RewardRegistry;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of reward tables overriding the global mobs folder by place.
+ * <p>
+ * World tables live in {@code mobs/worlds/<world>/}, region tables in
+ * {@code mobs/regions/<region>/}. A kill inside a region uses the region's
+ * reward for the mob if it has one, then the world's, then the global one.
+ * Regions are found through a {@link ChunkRegionIndex} per world, so a lookup
+ * costs one hash probe plus a bounds check per region sharing the chunk and
+ * per region too large to index by chunk.
+ * </p>
+ */
+public final class RewardTables {
+
+    private static final RewardTables EMPTY = new RewardTables(Map.of(), Map.of());
+
+    private final Map<String, RewardRegistry> worlds;
+    private final Map<String, ChunkRegionIndex> regions;
+
+    private RewardTables(Map<String, RewardRegistry> worlds, Map<String, ChunkRegionIndex> regions) {
+        this.worlds = worlds;
+        this.regions = regions;
+    }
+
+    /**
+     * Loads the world folders and the tables of the configured regions.
+     *
+     * @param source     The source holding the world and region folders.
+     * @param regionList The regions configured in config.yml.
+     * @param report     The report collecting problems.
+     * @return The compiled tables.
+     */
+    public static RewardTables load(IRewardSource source, List<Region> regionList, LoadReport report) {
+        Map<String, RewardRegistry> worlds = new HashMap<>();
+        for (String world : source.folders("worlds")) {
+            RewardRegistry registry = source.load("worlds/" + world, report);
+            if (registry.size() > 0) worlds.put(world, registry);
+        }
+
+        Map<String, List<RegionTable>> byWorld = new HashMap<>();
+        for (Region region : regionList) {
+            RewardRegistry registry = source.load("regions/" + region.name(), report);
+            if (registry.size() == 0) continue;
+            byWorld.computeIfAbsent(region.world(), k -> new ArrayList<>()).add(new RegionTable(region, registry));
+        }
+        Map<String, ChunkRegionIndex> regions = new HashMap<>();
+        byWorld.forEach((world, tables) -> regions.put(world, ChunkRegionIndex.build(tables)));
+
+        if (worlds.isEmpty() && regions.isEmpty()) return EMPTY;
+        return new RewardTables(Map.copyOf(worlds), Map.copyOf(regions));
+    }
+
+    /**
+     * Creates tables without any override.
+     *
+     * @return The empty tables.
+     */
+    public static RewardTables empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets the reward overriding the global one at a location.
+     *
+     * @param type     The entity type killed.
+     * @param location The location of the kill.
+     * @return The region or world reward, or null if the global table applies.
+     */
+    public MobReward get(EntityType type, Location location) {
+        if (this == EMPTY) return null;
+        String world = location.getWorld().getName();
+
+        ChunkRegionIndex index = regions.get(world);
+        if (index != null) {
+            MobReward reward = index.get(type, location.getBlockX(), location.getBlockY(), location.getBlockZ());
+            if (reward != null) return reward;
+        }
+
+        RewardRegistry registry = worlds.get(world);
+        return registry != null ? registry.get(type) : null;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Walker/Vose alias table for constant-time weighted sampling.
+ * <p>
+ * Built once when a loot pool is compiled. Each sample costs one bounded
+ * integer draw, one double draw and two array reads, regardless of the number
+ * of entries, and allocates nothing.
+ * </p>
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds an alias table using Vose's method.
+     *
+     * @param weights The non-negative weights; at least one must be positive.
+     * @throws IllegalArgumentException If no weight is positive.
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight > 0) sum += weight;
+        }
+        if (n == 0 || sum <= 0) {
+            throw new IllegalArgumentException("Alias table needs at least one positive weight");
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // Scale so the average bucket holds exactly 1.0
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(0, weights[i]) * n / sum;
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+
+        // Leftovers are 1.0 up to floating point error
+        while (largeSize > 0) probability[large[--largeSize]] = 1.0;
+        while (smallSize > 0) probability[small[--smallSize]] = 1.0;
+    }
+
+    /**
+     * Draws one index with probability proportional to its weight.
+     *
+     * @param random The random source.
+     * @return The sampled index.
+     */
+    public int sample(ThreadLocalRandom random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * @return The number of entries in the table.
+     */
+    public int size() {
+        return probability.length;
+    }
+}
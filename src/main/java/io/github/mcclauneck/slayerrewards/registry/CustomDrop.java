@@ -0,0 +1,28 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * A single pre-decoded custom drop.
+ * <p>
+ * The item is shared by every kill of the mob and must be cloned before it is
+ * handed to the world.
+ * </p>
+ *
+ * @param chance The drop chance in percent (0-100).
+ * @param item   The decoded template item.
+ * @param amount The stack size to drop.
+ */
+public record CustomDrop(double chance, ItemStack item, int amount) {
+
+    /**
+     * Creates a fresh copy of the template item with the configured amount applied.
+     *
+     * @return A new ItemStack that is safe to add to the drop list.
+     */
+    public ItemStack createItem() {
+        ItemStack copy = item.clone();
+        copy.setAmount(amount);
+        return copy;
+    }
+}
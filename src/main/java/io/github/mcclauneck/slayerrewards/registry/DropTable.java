@@ -0,0 +1,123 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compiled table of independent custom drops.
+ * <p>
+ * Entries are grouped by their chance. Groups of rare drops are rolled with
+ * geometric skip sampling: instead of one random draw per entry, the distance
+ * to the next successful entry is drawn directly, so a group of {@code n}
+ * entries at probability {@code p} costs about {@code 1 + n * p} draws. Every
+ * entry still drops independently with exactly its configured chance, so the
+ * distribution is identical to rolling each entry on its own.
+ * </p>
+ */
+public final class DropTable {
+
+    /**
+     * Above this probability a plain per-entry roll is cheaper than computing skips.
+     */
+    private static final double SKIP_THRESHOLD = 0.25;
+
+    private static final DropTable EMPTY = new DropTable(new Group[0], 0);
+
+    private final Group[] groups;
+    private final int size;
+
+    private DropTable(Group[] groups, int size) {
+        this.groups = groups;
+        this.size = size;
+    }
+
+    /**
+     * Compiles a list of drops into a grouped table.
+     *
+     * @param drops The drops in config order.
+     * @return The compiled table.
+     */
+    public static DropTable compile(List<CustomDrop> drops) {
+        if (drops.isEmpty()) return EMPTY;
+
+        Map<Double, List<CustomDrop>> byChance = new LinkedHashMap<>();
+        for (CustomDrop drop : drops) {
+            // Entries that can never drop are left out entirely
+            if (drop.chance() <= 0) continue;
+            byChance.computeIfAbsent(Math.min(drop.chance(), 100.0), k -> new ArrayList<>()).add(drop);
+        }
+
+        List<Group> groups = new ArrayList<>(byChance.size());
+        for (Map.Entry<Double, List<CustomDrop>> entry : byChance.entrySet()) {
+            groups.add(new Group(entry.getKey() / 100.0, entry.getValue().toArray(new CustomDrop[0])));
+        }
+        return new DropTable(groups.toArray(new Group[0]), drops.size());
+    }
+
+    /**
+     * Rolls every entry and adds the successful drops to the list.
+     *
+     * @param out The drop list to append to.
+     */
+    public void roll(List<ItemStack> out) {
+        if (groups.length == 0) return;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (Group group : groups) {
+            group.roll(random, out);
+        }
+    }
+
+    /**
+     * @return The number of configured drops, including ones that can never drop.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Entries sharing one probability.
+     */
+    private static final class Group {
+        private final double probability;
+        private final CustomDrop[] entries;
+        // log(1 - p), precomputed for the geometric skip
+        private final double logMiss;
+        private final boolean skip;
+
+        private Group(double probability, CustomDrop[] entries) {
+            this.probability = probability;
+            this.entries = entries;
+            this.logMiss = Math.log1p(-probability);
+            this.skip = probability < SKIP_THRESHOLD && entries.length > 1;
+        }
+
+        private void roll(ThreadLocalRandom random, List<ItemStack> out) {
+            if (probability >= 1.0) {
+                for (CustomDrop entry : entries) out.add(entry.createItem());
+                return;
+            }
+
+            if (!skip) {
+                for (CustomDrop entry : entries) {
+                    if (random.nextDouble() < probability) out.add(entry.createItem());
+                }
+                return;
+            }
+
+            // Number of failures before the next success is Geometric(p)
+            int index = -1;
+            while (true) {
+                double u = 1.0 - random.nextDouble(); // (0, 1], avoids log(0)
+                double gap = Math.floor(Math.log(u) / logMiss);
+                if (gap >= entries.length - index - 1) return;
+                index += (int) gap + 1;
+                out.add(entries[index].createItem());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import java.util.List;
+
+/**
+ * Where compiled mob rewards are loaded from.
+ * <p>
+ * Folders are addressed relative to the mobs folder: {@code ""} for the
+ * global table, {@code "worlds/<world>"} and {@code "regions/<region>"} for
+ * the override tables.
+ * </p>
+ */
+public interface IRewardSource {
+
+    /**
+     * Compiles every mob of a folder.
+     *
+     * @param folder The relative folder.
+     * @param report The report collecting problems.
+     * @return The compiled registry, empty if the folder does not exist.
+     */
+    RewardRegistry load(String folder, LoadReport report);
+
+    /**
+     * Lists the sub-folders of a folder.
+     *
+     * @param parent The relative parent folder (e.g. {@code "worlds"}).
+     * @return The names of its sub-folders.
+     */
+    List<String> folders(String parent);
+}
@@ -0,0 +1,120 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the problems found while compiling mob files.
+ * <p>
+ * Mob files compile in parallel, so the report is safe to fill from many
+ * threads. Instead of one stack trace per broken value, a load ends with a
+ * single summary and a capped list of details.
+ * </p>
+ */
+public class LoadReport {
+
+    /**
+     * Details logged per load; the summary still counts every problem.
+     */
+    private static final int MAX_DETAILS = 20;
+
+    /**
+     * Kinds of problems found in mob files.
+     */
+    public enum Problem {
+        UNREADABLE_FILE("unreadable files"),
+        INVALID_AMOUNT("invalid amounts"),
+        UNKNOWN_CURRENCY("unknown currencies"),
+        UNDECODABLE_ITEM("undecodable items");
+
+        private final String label;
+
+        Problem(String label) {
+            this.label = label;
+        }
+    }
+
+    private final AtomicInteger files = new AtomicInteger();
+    private final Queue<String> details = new ConcurrentLinkedQueue<>();
+    private final Map<Problem, AtomicInteger> counts = new EnumMap<>(Problem.class);
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Creates an empty report.
+     */
+    public LoadReport() {
+        for (Problem problem : Problem.values()) counts.put(problem, new AtomicInteger());
+    }
+
+    /**
+     * Records a problem.
+     *
+     * @param problem The kind of problem.
+     * @param source  Where it was found, e.g. the mob file and key.
+     * @param detail  The offending value or error message.
+     */
+    public void add(Problem problem, String source, String detail) {
+        counts.get(problem).incrementAndGet();
+        details.add(source + ": " + problem.label + " (" + detail + ")");
+    }
+
+    /**
+     * Counts a compiled mob file.
+     */
+    public void fileLoaded() {
+        files.incrementAndGet();
+    }
+
+    /**
+     * @param problem The kind of problem.
+     * @return How often it was found.
+     */
+    public int count(Problem problem) {
+        return counts.get(problem).get();
+    }
+
+    /**
+     * @return Whether no problem was found.
+     */
+    public boolean isEmpty() {
+        return details.isEmpty();
+    }
+
+    /**
+     * @return The number of compiled mob files.
+     */
+    public int getFiles() {
+        return files.get();
+    }
+
+    /**
+     * Logs the summary line, followed by the first problems in detail.
+     *
+     * @param logger The logger to write to.
+     */
+    public void log(MCExtensionLogger logger) {
+        long millis = (System.nanoTime() - startNanos) / 1_000_000L;
+        if (isEmpty()) {
+            logger.info("Compiled " + files.get() + " mob files in " + millis + " ms.");
+            return;
+        }
+
+        StringBuilder summary = new StringBuilder("Compiled " + files.get() + " mob files in " + millis + " ms with problems:");
+        for (Problem problem : Problem.values()) {
+            int count = count(problem);
+            if (count > 0) summary.append(' ').append(count).append(' ').append(problem.label).append(',');
+        }
+        summary.setLength(summary.length() - 1);
+        logger.error(summary.toString());
+
+        List<String> sorted = details.stream().sorted().limit(MAX_DETAILS).toList();
+        for (String detail : sorted) logger.error("  " + detail);
+        if (details.size() > MAX_DETAILS) logger.error("  ... and " + (details.size() - MAX_DETAILS) + " more");
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An exclusive, weighted loot pool: each roll picks exactly one of its entries.
+ * <p>
+ * Pools are configured under {@code loot_pools.<name>} in the mob file:
+ * </p>
+ * <pre>
+ * loot_pools:
+ *   gems:
+ *     chance: 25.0   # Chance (percent) that the pool rolls at all
+ *     rolls: 1       # Number of picks when it does
+ *     entries:
+ *       1: { metadata: ..., amount: 1, weight: 10.0 }
+ * </pre>
+ *
+ * @param name    The pool name as used in config and commands.
+ * @param chance  The chance in percent that the pool is rolled on a kill.
+ * @param rolls   The number of entries picked when the pool is rolled.
+ * @param entries The pre-decoded entries; their chance field is unused.
+ * @param table   The alias table over the entry weights.
+ */
+public record LootPool(String name, double chance, int rolls, CustomDrop[] entries, AliasTable table) {
+
+    /**
+     * Rolls the pool and adds the picked items to the drop list.
+     *
+     * @param drops The drop list to append to.
+     */
+    public void roll(List<ItemStack> drops) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (chance < 100.0 && random.nextDouble() * 100 >= chance) return;
+
+        for (int i = 0; i < rolls; i++) {
+            drops.add(entries[table.sample(random)].createItem());
+        }
+    }
+
+    /**
+     * Compiles a pool section into an alias-table backed pool.
+     *
+     * @param name    The pool name.
+     * @param section The {@code loot_pools.<name>} section.
+     * @param report  The report collecting undecodable items.
+     * @param source  Where the pool is configured, used in the report.
+     * @return The compiled pool, or null if it has no entry with a positive weight.
+     */
+    public static LootPool compile(String name, ConfigurationSection section, LoadReport report, String source) {
+        List<CustomDrop> entries = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+
+        ConfigurationSection entrySection = section.getConfigurationSection("entries");
+        if (entrySection != null) {
+            for (String key : entrySection.getKeys(false)) {
+                double weight = entrySection.getDouble(key + ".weight", 1.0);
+                String base64 = entrySection.getString(key + ".metadata");
+                int amount = entrySection.getInt(key + ".amount", 1);
+
+                if (weight > 0 && base64 != null && !base64.isEmpty()) {
+                    ItemStack item = MobReward.decodeItem(base64, report, source + ".entries." + key);
+                    if (item != null) {
+                        entries.add(new CustomDrop(100.0, item, amount));
+                        weights.add(weight);
+                    }
+                }
+            }
+        }
+
+        if (entries.isEmpty()) return null;
+
+        double[] weightArray = new double[weights.size()];
+        for (int i = 0; i < weightArray.length; i++) weightArray[i] = weights.get(i);
+
+        return new LootPool(
+            name,
+            section.getDouble("chance", 100.0),
+            Math.max(1, section.getInt("rolls", 1)),
+            entries.toArray(new CustomDrop[0]),
+            new AliasTable(weightArray)
+        );
+    }
+}
@@ -0,0 +1,283 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import io.github.mcclauneck.slayerrewards.common.SpawnReasonTag;
+import io.github.mcclauneck.slayerrewards.editor.util.EditorUtil;
+import io.github.mcclauneck.slayerrewards.feedback.FeedbackMode;
+import io.github.mcclauneck.slayerrewards.feedback.HologramVisibility;
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compiled, immutable reward definition for a single mob type.
+ * <p>
+ * Everything the kill path needs (amount range, currency and drops) is parsed
+ * once when the mob file is loaded, so a kill never touches YAML or the disk.
+ * </p>
+ *
+ * @param type               The entity type this reward belongs to.
+ * @param minAmount          The lower bound of the money range (inclusive).
+ * @param maxAmount          The upper bound of the money range (inclusive).
+ * @param currency           The currency paid out.
+ * @param cancelDefaultDrops Whether vanilla drops are cleared.
+ * @param drops              The compiled table of independent custom drops.
+ * @param pools              The exclusive weighted loot pools.
+ * @param visibility         The hologram visibility override, or null to use the global default.
+ * @param feedback           The feedback mode override, or null to use the world or global default.
+ * @param spawnReasons       The separate rewards for mobs tagged with a spawn reason.
+ * @param variants           The variant rules, most specific first.
+ */
+public record MobReward(
+    EntityType type,
+    int minAmount,
+    int maxAmount,
+    CurrencyType currency,
+    boolean cancelDefaultDrops,
+    DropTable drops,
+    List<LootPool> pools,
+    HologramVisibility visibility,
+    FeedbackMode feedback,
+    Map<SpawnReason, MobReward> spawnReasons,
+    List<VariantRule> variants
+) {
+
+    /**
+     * Rolls the money amount for a single kill.
+     * Supports fixed values (min == max) and ranges.
+     *
+     * @return The amount to pay out, or 0 if the mob pays nothing.
+     */
+    public int rollAmount() {
+        if (maxAmount <= 0) return 0;
+        if (minAmount >= maxAmount) return maxAmount;
+        return ThreadLocalRandom.current().nextInt(minAmount, maxAmount + 1);
+    }
+
+    /**
+     * Gets the reward for a mob tagged with a spawn reason.
+     *
+     * @param reason The tagged spawn reason.
+     * @return The separate reward, or null if such mobs pay no money and keep the mob's drops.
+     */
+    public MobReward forSpawnReason(SpawnReason reason) {
+        return spawnReasons.get(reason);
+    }
+
+    /**
+     * Picks the reward of the most specific variant rule matching a killed mob.
+     * <p>
+     * Mobs without variant rules return immediately; otherwise each rule costs
+     * a few field checks, and the custom name is serialized at most once.
+     * </p>
+     *
+     * @param entity The killed mob.
+     * @return The matching variant's reward, or this reward if none matches.
+     */
+    public MobReward match(Entity entity) {
+        if (variants.isEmpty()) return this;
+
+        String plainName = null;
+        for (VariantRule rule : variants) {
+            if (rule.title() != null && plainName == null) {
+                Component customName = entity.customName();
+                plainName = customName != null ? PlainTextComponentSerializer.plainText().serialize(customName) : "";
+            }
+            if (rule.matches(entity, plainName)) return rule.reward();
+        }
+        return this;
+    }
+
+    /**
+     * Compiles a mob configuration into an immutable reward.
+     * <p>
+     * Each {@code spawn_reasons.<REASON>} and {@code variants.<name>} section is
+     * compiled over the mob's own reward: it uses the same keys as the mob file,
+     * and every key it sets replaces the mob's value as a whole, while every key
+     * it leaves out is inherited. A variant setting {@code item_drop} therefore
+     * replaces the mob's drop list, and {@code item_drop: {}} clears it.
+     * </p>
+     *
+     * @param type   The entity type the configuration belongs to.
+     * @param config The parsed mob configuration.
+     * @return The compiled reward.
+     */
+    public static MobReward compile(EntityType type, ConfigurationSection config) {
+        return compile(type, config, new LoadReport(), type.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Compiles a mob configuration, recording invalid values in a report.
+     *
+     * @param type   The entity type the configuration belongs to.
+     * @param config The parsed mob configuration.
+     * @param report The report collecting problems.
+     * @param source The name of the mob file, used in the report.
+     * @return The compiled reward.
+     */
+    public static MobReward compile(EntityType type, ConfigurationSection config, LoadReport report, String source) {
+        MobReward base = compile(type, config, null, report, source);
+
+        Map<SpawnReason, MobReward> spawnReasons = new EnumMap<>(SpawnReason.class);
+        ConfigurationSection reasonSection = config.getConfigurationSection("spawn_reasons");
+        if (reasonSection != null) {
+            for (String name : reasonSection.getKeys(false)) {
+                ConfigurationSection override = reasonSection.getConfigurationSection(name);
+                SpawnReason reason = SpawnReasonTag.parse(name);
+                if (override != null && reason != null) {
+                    spawnReasons.put(reason, compile(type, override, base, report, source + "#spawn_reasons." + name));
+                }
+            }
+        }
+
+        List<VariantRule> variants = new ArrayList<>();
+        ConfigurationSection variantSection = config.getConfigurationSection("variants");
+        if (variantSection != null) {
+            for (String name : variantSection.getKeys(false)) {
+                ConfigurationSection variant = variantSection.getConfigurationSection(name);
+                ConfigurationSection match = variant != null ? variant.getConfigurationSection("match") : null;
+                if (match == null) continue;
+
+                MobReward reward = compile(type, variant, base, report, source + "#variants." + name);
+                VariantRule rule = VariantRule.compile(name, match, reward);
+                if (rule != null) variants.add(rule);
+            }
+            // Stable sort: equally specific rules keep their file order
+            variants.sort(Comparator.comparingInt(VariantRule::specificity).reversed());
+        }
+
+        return new MobReward(type, base.minAmount, base.maxAmount, base.currency, base.cancelDefaultDrops, base.drops,
+            base.pools, base.visibility, base.feedback, Collections.unmodifiableMap(spawnReasons), List.copyOf(variants));
+    }
+
+    /**
+     * Compiles the reward keys of one section, without its spawn reasons and variants.
+     *
+     * @param base The reward inheriting every key the section does not set, or null for the mob itself.
+     */
+    private static MobReward compile(EntityType type, ConfigurationSection config, MobReward base, LoadReport report, String source) {
+        int min = base != null ? base.minAmount : 0;
+        int max = base != null ? base.maxAmount : 0;
+        if (base == null || config.isSet("amount")) {
+            int[] range = parseAmount(config.getString("amount", "0"), report, source);
+            min = range[0];
+            max = range[1];
+        }
+
+        CurrencyType currency = base != null ? base.currency : null;
+        if (base == null || config.isSet("currency")) {
+            String currencyRaw = config.getString("currency", "coin");
+            currency = CurrencyType.fromName(currencyRaw);
+            if (currency == null) {
+                report.add(LoadReport.Problem.UNKNOWN_CURRENCY, source, currencyRaw);
+                currency = CurrencyType.COIN;
+            }
+        }
+
+        boolean cancelDefault = base == null || config.isSet("cancel_default_drops")
+            ? config.getBoolean("cancel_default_drops", false)
+            : base.cancelDefaultDrops;
+        DropTable drops = base == null || config.isSet("item_drop")
+            ? compileDrops(config.getConfigurationSection("item_drop"), report, source)
+            : base.drops;
+        List<LootPool> pools = base == null || config.isSet("loot_pools")
+            ? compilePools(config.getConfigurationSection("loot_pools"), report, source)
+            : base.pools;
+        HologramVisibility visibility = base == null || config.isSet("hologram")
+            ? HologramVisibility.fromName(config.getString("hologram.visibility"), null)
+            : base.visibility;
+        FeedbackMode feedback = base == null || config.isSet("feedback")
+            ? FeedbackMode.fromName(config.getString("feedback.mode"), null)
+            : base.feedback;
+
+        return new MobReward(type, min, max, currency, cancelDefault, drops, pools, visibility, feedback, Map.of(), List.of());
+    }
+
+    /**
+     * Parses a fixed amount or a "min-max" range.
+     *
+     * @return The lower and upper bound, both 0 if the value is invalid.
+     */
+    private static int[] parseAmount(String amountRaw, LoadReport report, String source) {
+        int min;
+        int max;
+
+        try {
+            if (amountRaw.contains("-")) {
+                String[] parts = amountRaw.split("-");
+                min = Integer.parseInt(parts[0].trim());
+                max = Integer.parseInt(parts[1].trim());
+            } else {
+                min = max = Integer.parseInt(amountRaw.trim());
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            report.add(LoadReport.Problem.INVALID_AMOUNT, source, amountRaw);
+            min = max = 0;
+        }
+        if (min < 0 || min > max) {
+            report.add(LoadReport.Problem.INVALID_AMOUNT, source, amountRaw);
+        }
+        return new int[] {min, max};
+    }
+
+    private static DropTable compileDrops(ConfigurationSection section, LoadReport report, String source) {
+        List<CustomDrop> drops = new ArrayList<>();
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                double chance = section.getDouble(key + ".chance", 100.0);
+                String base64 = section.getString(key + ".metadata");
+                int amount = section.getInt(key + ".amount", 1);
+
+                if (base64 != null && !base64.isEmpty()) {
+                    ItemStack item = decodeItem(base64, report, source + "#item_drop." + key);
+                    if (item != null) {
+                        drops.add(new CustomDrop(chance, item, amount));
+                    }
+                }
+            }
+        }
+        return DropTable.compile(drops);
+    }
+
+    private static List<LootPool> compilePools(ConfigurationSection poolSection, LoadReport report, String source) {
+        List<LootPool> pools = new ArrayList<>();
+        if (poolSection != null) {
+            for (String name : poolSection.getKeys(false)) {
+                ConfigurationSection pool = poolSection.getConfigurationSection(name);
+                LootPool compiled = pool != null ? LootPool.compile(name, pool, report, source + "#loot_pools." + name) : null;
+                if (compiled != null) pools.add(compiled);
+            }
+        }
+        return List.copyOf(pools);
+    }
+
+    /**
+     * Decodes a stored item, recording it in the report if it cannot be decoded.
+     *
+     * @param base64 The stored value.
+     * @param report The report collecting problems.
+     * @param source Where the value is stored, used in the report.
+     * @return The item, or null if it cannot be decoded.
+     */
+    static ItemStack decodeItem(String base64, LoadReport report, String source) {
+        Exception[] error = new Exception[1];
+        ItemStack item = EditorUtil.itemStackFromBase64(base64, e -> error[0] = e);
+        if (item == null) {
+            report.add(LoadReport.Problem.UNDECODABLE_ITEM, source, error[0] != null ? String.valueOf(error[0].getMessage()) : "empty item");
+        }
+        return item;
+    }
+}
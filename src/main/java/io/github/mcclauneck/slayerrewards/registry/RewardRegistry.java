@@ -0,0 +1,198 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable table of compiled mob rewards indexed by {@link EntityType} ordinal.
+ * <p>
+ * The registry is built once from the mobs folder and shared by the listener and
+ * the provider. Lookups are a single array access, so unconfigured mobs exit in
+ * O(1) without touching the disk. Updates never mutate an existing registry;
+ * they produce a copy that is swapped in by the owner.
+ * </p>
+ */
+public final class RewardRegistry {
+
+    private static final EntityType[] TYPES = EntityType.values();
+
+    private final MobReward[] byOrdinal;
+
+    private RewardRegistry(MobReward[] byOrdinal) {
+        this.byOrdinal = byOrdinal;
+    }
+
+    /**
+     * Creates a registry with no configured mobs.
+     *
+     * @return An empty registry.
+     */
+    public static RewardRegistry empty() {
+        return new RewardRegistry(new MobReward[TYPES.length]);
+    }
+
+    /**
+     * Loads and compiles every mob file in the given folder.
+     *
+     * @param mobsFolder The directory containing mob YML files.
+     * @return The compiled registry.
+     */
+    public static RewardRegistry load(File mobsFolder) {
+        return load(mobsFolder, new LoadReport());
+    }
+
+    /**
+     * Loads and compiles every mob file in the given folder in parallel.
+     * <p>
+     * Files are parsed and their items decoded on the common fork-join pool;
+     * only the final table assignment is sequential. Problems are collected
+     * in the report instead of being logged one by one.
+     * </p>
+     *
+     * @param mobsFolder The directory containing mob YML files.
+     * @param report     The report collecting problems.
+     * @return The compiled registry.
+     */
+    public static RewardRegistry load(File mobsFolder, LoadReport report) {
+        MobReward[] table = new MobReward[TYPES.length];
+        File[] files = mobsFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null) return new RewardRegistry(table);
+
+        List<MobReward> compiled = Arrays.stream(files).parallel()
+            .map(file -> {
+                EntityType type = resolveType(file.getName().substring(0, file.getName().length() - 4));
+                return type != null ? compileFile(type, file, report) : null;
+            })
+            .filter(Objects::nonNull)
+            .toList();
+        for (MobReward reward : compiled) table[reward.type().ordinal()] = reward;
+        return new RewardRegistry(table);
+    }
+
+    /**
+     * Compiles already parsed mob configurations in parallel.
+     *
+     * @param mobs   The mob configurations by mob name (e.g. "zombie").
+     * @param report The report collecting problems.
+     * @return The compiled registry.
+     */
+    public static RewardRegistry compile(Map<String, ? extends ConfigurationSection> mobs, LoadReport report) {
+        MobReward[] table = new MobReward[TYPES.length];
+        List<MobReward> compiled = mobs.entrySet().parallelStream()
+            .map(entry -> {
+                EntityType type = resolveType(entry.getKey());
+                if (type == null) return null;
+                report.fileLoaded();
+                return MobReward.compile(type, entry.getValue(), report, entry.getKey());
+            })
+            .filter(Objects::nonNull)
+            .toList();
+        for (MobReward reward : compiled) table[reward.type().ordinal()] = reward;
+        return new RewardRegistry(table);
+    }
+
+    /**
+     * Parses and compiles a single mob file.
+     *
+     * @param type The entity type the file belongs to.
+     * @param file The mob YML file.
+     * @return The compiled reward, or null if the file does not exist.
+     */
+    public static MobReward compileFile(EntityType type, File file) {
+        return compileFile(type, file, new LoadReport());
+    }
+
+    /**
+     * Parses and compiles a single mob file, recording problems in a report.
+     *
+     * @param type   The entity type the file belongs to.
+     * @param file   The mob YML file.
+     * @param report The report collecting problems.
+     * @return The compiled reward, or null if the file does not exist or cannot be parsed.
+     */
+    public static MobReward compileFile(EntityType type, File file, LoadReport report) {
+        if (!file.exists()) return null;
+        String source = file.getParentFile().getName() + "/" + file.getName();
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            report.add(LoadReport.Problem.UNREADABLE_FILE, source, String.valueOf(e.getMessage()));
+            return null;
+        }
+        report.fileLoaded();
+        return MobReward.compile(type, config, report, source);
+    }
+
+    /**
+     * Resolves a mob name (as used for file names and commands) to its entity type.
+     *
+     * @param mobType The mob name, case-insensitive (e.g., "zombie").
+     * @return The entity type, or null if the name is unknown.
+     */
+    public static EntityType resolveType(String mobType) {
+        try {
+            return EntityType.valueOf(mobType.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the compiled reward for an entity type.
+     *
+     * @param type The entity type.
+     * @return The reward, or null if the mob is not configured.
+     */
+    public MobReward get(EntityType type) {
+        return byOrdinal[type.ordinal()];
+    }
+
+    /**
+     * Gets the compiled reward for a mob name.
+     *
+     * @param mobType The mob name, case-insensitive (e.g., "ZOMBIE").
+     * @return The reward, or null if the mob is unknown or not configured.
+     */
+    public MobReward get(String mobType) {
+        EntityType type = resolveType(mobType);
+        return type != null ? byOrdinal[type.ordinal()] : null;
+    }
+
+    /**
+     * Returns a copy of this registry with a single entry replaced.
+     *
+     * @param type   The entity type to replace.
+     * @param reward The new reward, or null to remove the entry.
+     * @return A new registry instance.
+     */
+    public RewardRegistry with(EntityType type, MobReward reward) {
+        MobReward[] copy = byOrdinal.clone();
+        copy[type.ordinal()] = reward;
+        return new RewardRegistry(copy);
+    }
+
+    /**
+     * Counts the configured mobs.
+     *
+     * @return The number of entity types with a reward.
+     */
+    public int size() {
+        int count = 0;
+        for (MobReward reward : byOrdinal) {
+            if (reward != null) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import io.github.mcclauneck.slayerrewards.common.SlayerRewardsProvider;
+import io.github.mcengine.mcextension.common.MCExtensionLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background watcher that hot-reloads mob files when they change on disk.
+ * <p>
+ * Events are debounced so a burst of writes (editors saving several times, or
+ * tools writing a temp file and renaming it) results in one re-parse per file.
+ * Only the changed mobs are recompiled, off the main thread, and swapped into
+ * the provider's live registry. The kill path never touches the filesystem.
+ * </p>
+ * <p>
+ * The world and region folders below {@code mobs/worlds} and {@code mobs/regions}
+ * are watched too; a change there recompiles all world and region tables.
+ * </p>
+ */
+public class RewardWatcher implements Runnable, AutoCloseable {
+
+    /**
+     * Quiet period after the last event before pending changes are applied.
+     */
+    private static final long DEBOUNCE_MILLIS = 250L;
+
+    private final MCExtensionLogger logger = new MCExtensionLogger("MCEconomy", "SlayerRewards");
+    private final SlayerRewardsProvider provider;
+    private final Path mobsPath;
+    private final Path worldsPath;
+    private final Path regionsPath;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * Creates a watcher for the provider's mobs folder.
+     *
+     * @param provider The provider whose registry is updated on change.
+     */
+    public RewardWatcher(SlayerRewardsProvider provider) {
+        this.provider = provider;
+        this.mobsPath = provider.getMobsFolder().toPath();
+        this.worldsPath = mobsPath.resolve("worlds");
+        this.regionsPath = mobsPath.resolve("regions");
+    }
+
+    /**
+     * Registers the watch service and starts the background thread.
+     */
+    public void start() {
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            mobsPath.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+            for (Path parent : new Path[] {worldsPath, regionsPath}) {
+                parent.toFile().mkdirs();
+                register(parent);
+                File[] children = parent.toFile().listFiles(File::isDirectory);
+                if (children != null) {
+                    for (File child : children) register(child.toPath());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to watch mobs folder, hot reload disabled: " + e.getMessage());
+            return;
+        }
+
+        this.thread = new Thread(this, "SlayerRewards-Watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Collects change events and applies them once the folder has been quiet
+     * for {@link #DEBOUNCE_MILLIS}.
+     */
+    @Override
+    public void run() {
+        Set<String> pending = new HashSet<>();
+        boolean fullReload = false;
+        boolean tablesChanged = false;
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // Block until something happens, then keep polling until the burst settles
+                WatchKey key = (pending.isEmpty() && !fullReload && !tablesChanged)
+                    ? watchService.take()
+                    : watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (key == null) {
+                    apply(pending, fullReload);
+                    if (tablesChanged && !fullReload) applyTables();
+                    pending.clear();
+                    fullReload = false;
+                    tablesChanged = false;
+                    continue;
+                }
+
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        fullReload = true;
+                        continue;
+                    }
+                    if (!dir.equals(mobsPath)) {
+                        // A world or region folder, or one of its files
+                        tablesChanged = true;
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && (dir.equals(worldsPath) || dir.equals(regionsPath))) {
+                            register(dir.resolve(event.context().toString()));
+                        }
+                        continue;
+                    }
+
+                    String fileName = event.context().toString();
+                    if (fileName.endsWith(".yml")) {
+                        pending.add(fileName.substring(0, fileName.length() - 4));
+                    }
+                }
+
+                if (!key.reset() && dir.equals(mobsPath)) {
+                    logger.error("Mobs folder is no longer accessible, hot reload stopped.");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Recompiles the changed mobs and swaps them into the live registry.
+     *
+     * @param mobNames   The names of the changed mob files (without .yml).
+     * @param fullReload Whether events were lost and the whole folder must be reloaded.
+     */
+    private void apply(Set<String> mobNames, boolean fullReload) {
+        if (fullReload) {
+            try {
+                provider.reload();
+            } catch (Exception e) {
+                logger.error("Failed to reload mobs folder: " + e.getMessage());
+            }
+            return;
+        }
+
+        for (String mobName : mobNames) {
+            try {
+                provider.reloadMob(mobName);
+            } catch (Exception e) {
+                // A half-written file must not stop the watcher; the next write retries
+                logger.error("Failed to reload " + mobName + ".yml: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Recompiles the world and region tables.
+     */
+    private void applyTables() {
+        try {
+            provider.reloadTables();
+        } catch (Exception e) {
+            logger.error("Failed to reload world and region tables: " + e.getMessage());
+        }
+    }
+
+    private void register(Path dir) {
+        if (!dir.toFile().isDirectory()) return;
+        try {
+            dir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            logger.error("Failed to watch " + dir.getFileName() + ", hot reload disabled for it: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the background thread and releases the watch service.
+     */
+    @Override
+    public void close() {
+        if (thread != null) thread.interrupt();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {}
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Ageable;
+import org.bukkit.entity.Creeper;
+import org.bukkit.entity.Entity;
+
+/**
+ * A compiled condition selecting a separate reward for special mobs.
+ * <p>
+ * Rules are configured under {@code variants.<name>} in the mob file, each
+ * with a {@code match} section and the reward keys it changes; every other
+ * key is taken from the mob itself:
+ * </p>
+ * <pre>
+ * variants:
+ *   charged:
+ *     match:
+ *       charged: true           # Powered creepers
+ *       baby: false             # Baby or adult ageable mobs
+ *       name: "Graveyard King"  # Exact custom name, formatting ignored
+ *       pdc: "otherplugin:boss" # Key present in the mob's PersistentDataContainer
+ *     amount: "100-200"
+ * </pre>
+ * <p>
+ * Every condition is optional; a rule matches when all of its conditions do.
+ * A rule's specificity is its number of conditions, and more specific rules
+ * are tried first.
+ * </p>
+ *
+ * @param name    The rule name as used in config.
+ * @param charged Required creeper charge, or null to ignore it.
+ * @param baby    Required baby state, or null to ignore it.
+ * @param title   Required plain custom name, or null to ignore it.
+ * @param pdc     Key that must be present in the PersistentDataContainer, or null to ignore it.
+ * @param reward  The reward paid when the rule matches.
+ */
+public record VariantRule(String name, Boolean charged, Boolean baby, String title, NamespacedKey pdc, MobReward reward) {
+
+    /**
+     * @return The number of conditions of this rule.
+     */
+    public int specificity() {
+        int count = 0;
+        if (charged != null) count++;
+        if (baby != null) count++;
+        if (title != null) count++;
+        if (pdc != null) count++;
+        return count;
+    }
+
+    /**
+     * Checks the rule against a killed mob.
+     *
+     * @param entity    The mob.
+     * @param plainName The mob's custom name as plain text; only read if the rule has a name condition.
+     * @return Whether every condition holds.
+     */
+    public boolean matches(Entity entity, String plainName) {
+        if (charged != null && !(entity instanceof Creeper creeper && creeper.isPowered() == charged)) return false;
+        if (baby != null && !(entity instanceof Ageable ageable && ageable.isAdult() != baby)) return false;
+        if (title != null && !title.equals(plainName)) return false;
+        return pdc == null || entity.getPersistentDataContainer().has(pdc);
+    }
+
+    /**
+     * Compiles the match section of a variant.
+     *
+     * @param name   The variant name.
+     * @param match  The {@code variants.<name>.match} section.
+     * @param reward The compiled reward of the variant.
+     * @return The compiled rule, or null if it has no valid condition.
+     */
+    public static VariantRule compile(String name, ConfigurationSection match, MobReward reward) {
+        Boolean charged = match.isBoolean("charged") ? match.getBoolean("charged") : null;
+        Boolean baby = match.isBoolean("baby") ? match.getBoolean("baby") : null;
+        String title = match.getString("name");
+        String pdcRaw = match.getString("pdc");
+        NamespacedKey pdc = pdcRaw != null ? NamespacedKey.fromString(pdcRaw) : null;
+
+        VariantRule rule = new VariantRule(name, charged, baby, title, pdc, reward);
+        return rule.specificity() > 0 ? rule : null;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.mcclauneck.slayerrewards.registry;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads mob rewards from one YAML file per mob in the mobs folder tree.
+ */
+public class YamlRewardSource implements IRewardSource {
+
+    private final File mobsFolder;
+
+    /**
+     * Creates a source over the given mobs folder.
+     *
+     * @param mobsFolder The mobs folder.
+     */
+    public YamlRewardSource(File mobsFolder) {
+        this.mobsFolder = mobsFolder;
+    }
+
+    @Override
+    public RewardRegistry load(String folder, LoadReport report) {
+        return RewardRegistry.load(folder.isEmpty() ? mobsFolder : new File(mobsFolder, folder), report);
+    }
+
+    @Override
+    public List<String> folders(String parent) {
+        List<String> names = new ArrayList<>();
+        File[] children = new File(mobsFolder, parent).listFiles(File::isDirectory);
+        if (children != null) {
+            for (File child : children) names.add(child.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.mcclauneck.slayerrewards.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * {@link ITaskScheduler} backed by the single-threaded Bukkit scheduler.
+ */
+public class BukkitTaskScheduler implements ITaskScheduler {
+
+    private final JavaPlugin plugin;
+
+    /**
+     * Creates a new Bukkit scheduler wrapper.
+     *
+     * @param plugin The host plugin owning the tasks.
+     */
+    public BukkitTaskScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        runMain(task);
+    }
+
+    @Override
+    public void runFor(Entity entity, Runnable task) {
+        runMain(() -> {
+            if (entity.isValid()) task.run();
+        });
+    }
+
+    @Override
+    public void runForLater(Entity entity, Runnable task, long delayTicks) {
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (entity.isValid()) task.run();
+        }, Math.max(1L, delayTicks));
+    }
+
+    @Override
+    public Runnable runTimer(Runnable task, long periodTicks) {
+        long period = Math.max(1L, periodTicks);
+        BukkitTask timer = Bukkit.getScheduler().runTaskTimer(plugin, task, period, period);
+        return timer::cancel;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    private void runMain(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.mcclauneck.slayerrewards.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * {@link ITaskScheduler} backed by Folia's region and entity schedulers.
+ */
+public class FoliaTaskScheduler implements ITaskScheduler {
+
+    private final JavaPlugin plugin;
+
+    /**
+     * Creates a new Folia scheduler wrapper.
+     *
+     * @param plugin The host plugin owning the tasks.
+     */
+    public FoliaTaskScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void runAt(Location location, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(location)) {
+            task.run();
+        } else {
+            Bukkit.getRegionScheduler().execute(plugin, location, task);
+        }
+    }
+
+    @Override
+    public void runFor(Entity entity, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            entity.getScheduler().run(plugin, scheduled -> task.run(), null);
+        }
+    }
+
+    @Override
+    public void runForLater(Entity entity, Runnable task, long delayTicks) {
+        entity.getScheduler().runDelayed(plugin, scheduled -> task.run(), null, Math.max(1L, delayTicks));
+    }
+
+    @Override
+    public Runnable runTimer(Runnable task, long periodTicks) {
+        long period = Math.max(1L, periodTicks);
+        ScheduledTask timer = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(), period, period);
+        return timer::cancel;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.mcclauneck.slayerrewards.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Schedules work on the thread that owns a location or entity.
+ * <p>
+ * On Paper this is always the main thread. On Folia, locations and entities
+ * are owned by region threads, so tasks are routed through the region and
+ * entity schedulers instead of the global Bukkit scheduler.
+ * </p>
+ */
+public interface ITaskScheduler {
+
+    /**
+     * Runs a task on the thread owning the location, immediately if the caller already owns it.
+     *
+     * @param location The location the task operates on.
+     * @param task     The task to run.
+     */
+    void runAt(Location location, Runnable task);
+
+    /**
+     * Runs a task on the thread owning the entity, immediately if the caller already owns it.
+     * The task is skipped if the entity is removed before it runs.
+     *
+     * @param entity The entity the task operates on.
+     * @param task   The task to run.
+     */
+    void runFor(Entity entity, Runnable task);
+
+    /**
+     * Runs a task on the thread owning the entity after a delay.
+     * The task is skipped if the entity is removed before it runs.
+     *
+     * @param entity     The entity the task operates on.
+     * @param task       The task to run.
+     * @param delayTicks The delay in ticks (at least 1).
+     */
+    void runForLater(Entity entity, Runnable task, long delayTicks);
+
+    /**
+     * Runs a task repeatedly on the global thread: the main thread, or Folia's global region.
+     *
+     * @param task        The task to run.
+     * @param periodTicks The period in ticks (at least 1).
+     * @return A handle that cancels the timer when run.
+     */
+    Runnable runTimer(Runnable task, long periodTicks);
+
+    /**
+     * @return Whether the server runs Folia's region threading.
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Creates the scheduler matching the running server.
+     *
+     * @param plugin The host plugin owning the tasks.
+     * @return A Folia scheduler when region threading is available, the Bukkit scheduler otherwise.
+     */
+    static ITaskScheduler create(JavaPlugin plugin) {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return new FoliaTaskScheduler(plugin);
+        } catch (ClassNotFoundException e) {
+            return new BukkitTaskScheduler(plugin);
+        }
+    }
+}
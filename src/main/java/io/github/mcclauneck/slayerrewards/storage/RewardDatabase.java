@@ -0,0 +1,384 @@
+package io.github.mcclauneck.slayerrewards.storage;
+
+import io.github.mcclauneck.slayerrewards.registry.IRewardSource;
+import io.github.mcclauneck.slayerrewards.registry.LoadReport;
+import io.github.mcclauneck.slayerrewards.registry.RewardRegistry;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Single-file binary store holding every mob file of the mobs folder tree.
+ * <p>
+ * Each mob file is stored as a pre-parsed tree of sections and typed values,
+ * so loading skips YAML parsing entirely; item metadata is kept in its
+ * already encoded form. The file is read through a memory-mapped
+ * {@link FileChannel}; opening it only reads the index, and an entry is
+ * decoded from its own slice of the mapping when its folder is loaded, so
+ * region folders no configured region uses are never decoded:
+ * </p>
+ * <pre>
+ * int    magic "SRDB", int version, int entry count
+ * index  per entry: string path, long offset, int length
+ * data   per entry: the encoded root section
+ * </pre>
+ * <p>
+ * Paths are relative to the mobs folder without {@code .yml}, e.g.
+ * {@code zombie} or {@code worlds/world_nether/zombie}. The YAML folder stays
+ * the editable source of truth: {@link #export} compiles it into the
+ * database and {@link #importTo} writes the database back out as YAML. A
+ * database older than any mob file is stale, see {@link #isStale}.
+ * </p>
+ */
+public class RewardDatabase implements IRewardSource {
+
+    private static final int MAGIC = 0x53524442;
+    private static final int VERSION = 1;
+
+    private static final byte SECTION = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte LIST = 6;
+
+    private final MappedByteBuffer buffer;
+    // Entry locations by folder, then mob name
+    private final Map<String, Map<String, Entry>> folders;
+
+    private RewardDatabase(MappedByteBuffer buffer, Map<String, Map<String, Entry>> folders) {
+        this.buffer = buffer;
+        this.folders = folders;
+    }
+
+    /**
+     * Maps a database file and reads its index.
+     *
+     * @param file The database file.
+     * @return The opened database.
+     * @throws IOException If the file cannot be read or is not a reward database.
+     */
+    public static RewardDatabase open(File file) throws IOException {
+        Map<String, Map<String, Entry>> folders = new HashMap<>();
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) throw new IOException("Not a SlayerRewards database: " + file.getName());
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("Unsupported database version " + version);
+
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String path = readString(buffer);
+                long offset = buffer.getLong();
+                int length = buffer.getInt();
+                if (offset < 0 || length < 0 || offset + length > buffer.capacity()) {
+                    throw new IOException("Corrupt SlayerRewards database: entry " + path + " lies outside the file");
+                }
+
+                int split = path.lastIndexOf('/');
+                String folder = split >= 0 ? path.substring(0, split) : "";
+                folders.computeIfAbsent(folder, k -> new HashMap<>()).put(path.substring(split + 1), new Entry(path, (int) offset, length));
+            }
+        } catch (RuntimeException e) {
+            // Truncated or corrupt data surfaces as buffer exceptions
+            throw new IOException("Corrupt SlayerRewards database: " + e.getMessage(), e);
+        }
+        return new RewardDatabase(buffer, folders);
+    }
+
+    /**
+     * Checks whether a database file is older than the newest mob file it was
+     * exported from, i.e. the YAML files were edited since the last export.
+     *
+     * @param mobsFolder The mobs folder.
+     * @param file       The database file.
+     * @return Whether any mob file of the tree was modified after the database.
+     */
+    public static boolean isStale(File mobsFolder, File file) {
+        long exported = file.lastModified();
+        for (File source : sources(mobsFolder).values()) {
+            if (source.lastModified() > exported) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public RewardRegistry load(String folder, LoadReport report) {
+        Map<String, YamlConfiguration> mobs = new HashMap<>();
+        for (Map.Entry<String, Entry> mob : folders.getOrDefault(folder, Map.of()).entrySet()) {
+            try {
+                mobs.put(mob.getKey(), decode(mob.getValue()));
+            } catch (RuntimeException e) {
+                report.add(LoadReport.Problem.UNREADABLE_FILE, mob.getValue().path(), String.valueOf(e.getMessage()));
+            }
+        }
+        return RewardRegistry.compile(mobs, report);
+    }
+
+    @Override
+    public List<String> folders(String parent) {
+        TreeSet<String> names = new TreeSet<>();
+        String prefix = parent + "/";
+        for (String folder : folders.keySet()) {
+            if (!folder.startsWith(prefix)) continue;
+            String rest = folder.substring(prefix.length());
+            int split = rest.indexOf('/');
+            names.add(split >= 0 ? rest.substring(0, split) : rest);
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Writes every mob file of the mobs folder tree into a database file,
+     * atomically replacing it.
+     *
+     * @param mobsFolder The mobs folder.
+     * @param file       The database file to write.
+     * @return The number of mob files exported.
+     * @throws IOException If the database cannot be written.
+     */
+    public static int export(File mobsFolder, File file) throws IOException {
+        Map<String, File> sources = sources(mobsFolder);
+
+        List<String> paths = new ArrayList<>();
+        List<byte[]> entries = new ArrayList<>();
+        for (Map.Entry<String, File> source : sources.entrySet()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeSection(out, YamlConfiguration.loadConfiguration(source.getValue()));
+            out.flush();
+            paths.add(source.getKey());
+            entries.add(bytes.toByteArray());
+        }
+
+        // Data starts right after the index, whose size depends only on the paths
+        long offset = 12;
+        for (String path : paths) offset += 4 + path.getBytes(StandardCharsets.UTF_8).length + 8 + 4;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            writeString(out, paths.get(i));
+            out.writeLong(offset);
+            out.writeInt(entries.get(i).length);
+            offset += entries.get(i).length;
+        }
+        for (byte[] entry : entries) out.write(entry);
+        out.flush();
+
+        Path target = file.toPath();
+        Path temp = target.resolveSibling("." + target.getFileName() + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return paths.size();
+    }
+
+    /**
+     * Writes every entry of a database file back out as YAML mob files,
+     * overwriting files of the same name.
+     *
+     * @param file       The database file.
+     * @param mobsFolder The mobs folder.
+     * @return The number of mob files written.
+     * @throws IOException If the database cannot be read or a file cannot be written.
+     */
+    public static int importTo(File file, File mobsFolder) throws IOException {
+        RewardDatabase database = open(file);
+        int count = 0;
+        for (Map.Entry<String, Map<String, Entry>> folder : database.folders.entrySet()) {
+            File target = folder.getKey().isEmpty() ? mobsFolder : new File(mobsFolder, folder.getKey());
+            target.mkdirs();
+            for (Map.Entry<String, Entry> mob : folder.getValue().entrySet()) {
+                YamlConfiguration config;
+                try {
+                    config = database.decode(mob.getValue());
+                } catch (RuntimeException e) {
+                    throw new IOException("Corrupt SlayerRewards database entry " + mob.getValue().path() + ": " + e.getMessage(), e);
+                }
+                config.save(new File(target, mob.getKey() + ".yml"));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes one entry from its own slice of the mapping, so concurrent
+     * decodes never share a cursor.
+     */
+    private YamlConfiguration decode(Entry entry) {
+        ByteBuffer data = buffer.slice(entry.offset(), entry.length());
+        YamlConfiguration config = new YamlConfiguration();
+        readSection(data, config);
+        if (data.hasRemaining()) {
+            throw new IllegalStateException(data.remaining() + " trailing bytes after the entry");
+        }
+        return config;
+    }
+
+    /**
+     * Collects every mob file of the mobs folder tree by its database path.
+     */
+    private static Map<String, File> sources(File mobsFolder) {
+        Map<String, File> sources = new LinkedHashMap<>();
+        collect(mobsFolder, "", sources);
+        for (String parent : new String[] {"worlds", "regions"}) {
+            File[] children = new File(mobsFolder, parent).listFiles(File::isDirectory);
+            if (children == null) continue;
+            for (File child : children) collect(child, parent + "/" + child.getName() + "/", sources);
+        }
+        return sources;
+    }
+
+    private static void collect(File folder, String prefix, Map<String, File> sources) {
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null) return;
+        for (File file : files) {
+            sources.put(prefix + file.getName().substring(0, file.getName().length() - 4), file);
+        }
+    }
+
+    private static void writeSection(DataOutputStream out, ConfigurationSection section) throws IOException {
+        out.writeByte(SECTION);
+        Set<String> keys = section.getKeys(false);
+        out.writeInt(keys.size());
+        for (String key : keys) {
+            writeString(out, key);
+            Object value = section.isConfigurationSection(key) ? section.getConfigurationSection(key) : section.get(key);
+            writeValue(out, value);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof ConfigurationSection section) {
+            writeSection(out, section);
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(SECTION);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) writeValue(out, element);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else {
+            out.writeByte(STRING);
+            writeString(out, String.valueOf(value));
+        }
+    }
+
+    private static void readSection(ByteBuffer buffer, ConfigurationSection target) {
+        byte tag = buffer.get();
+        if (tag != SECTION) throw new IllegalStateException("Expected a section, found tag " + tag);
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            String key = readString(buffer);
+            if (buffer.get(buffer.position()) == SECTION) {
+                readSection(buffer, target.createSection(key));
+            } else {
+                target.set(key, readValue(buffer));
+            }
+        }
+    }
+
+    private static Object readValue(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case SECTION -> {
+                int count = buffer.getInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < count; i++) map.put(readString(buffer), readValue(buffer));
+                return map;
+            }
+            case STRING -> {
+                return readString(buffer);
+            }
+            case INT -> {
+                return buffer.getInt();
+            }
+            case LONG -> {
+                return buffer.getLong();
+            }
+            case DOUBLE -> {
+                return buffer.getDouble();
+            }
+            case BOOLEAN -> {
+                return buffer.get() != 0;
+            }
+            case LIST -> {
+                int count = buffer.getInt();
+                List<Object> list = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) list.add(readValue(buffer));
+                return list;
+            }
+            default -> throw new IllegalStateException("Unknown value tag " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // Length-prefixed UTF-8; writeUTF caps at 64 KiB, which item blobs can exceed
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Location of one encoded mob file in the mapping.
+     *
+     * @param path   The entry's path, used in reports.
+     * @param offset The position of the encoded root section.
+     * @param length The length of the encoded root section.
+     */
+    private record Entry(String path, int offset, int length) {
+    }
+}
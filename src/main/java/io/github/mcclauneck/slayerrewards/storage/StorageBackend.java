@@ -0,0 +1,35 @@
+package io.github.mcclauneck.slayerrewards.storage;
+
+import java.util.Locale;
+
+/**
+ * Where mob rewards are read from at startup.
+ */
+public enum StorageBackend {
+
+    /**
+     * One YAML file per mob in the mobs folder tree.
+     */
+    YAML,
+
+    /**
+     * The memory-mapped {@code rewards.db} written by {@code /slayerrewards export}.
+     */
+    BINARY;
+
+    /**
+     * Parses a backend from config.
+     *
+     * @param name     The configured name, case-insensitive.
+     * @param fallback The value to use when the name is missing or unknown.
+     * @return The parsed backend.
+     */
+    public static StorageBackend fromName(String name, StorageBackend fallback) {
+        if (name == null) return fallback;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.mcclauneck.slayerrewards.tabcompleter;
 
 import io.github.mcclauneck.slayerrewards.common.SlayerRewardsProvider;
+import io.github.mcclauneck.slayerrewards.registry.LootPool;
+import io.github.mcclauneck.slayerrewards.registry.MobReward;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
@@ -16,12 +18,13 @@ import java.util.stream.Collectors;
 /**
  * Handles tab completion for the /slayerrewards command.
  * <p>
- * Provides suggestions for subcommands ("edit") and dynamic mob names
- * based on all valid Minecraft entity types.
+ * Provides suggestions for subcommands ("edit", "pool", "migrate", "export", "import", "stats"), dynamic mob names
+ * based on all valid Minecraft entity types, and the loot pools of a mob.
  * </p>
  */
 public class SlayerRewardsTabCompleter implements TabCompleter {
 
+    private final SlayerRewardsProvider provider;
     private final List<String> allEntityTypes;
 
     /**
@@ -30,6 +33,7 @@ public class SlayerRewardsTabCompleter implements TabCompleter {
      * @param provider The provider instance used to access the mobs folder.
      */
     public SlayerRewardsTabCompleter(SlayerRewardsProvider provider) {
+        this.provider = provider;
         this.allEntityTypes = Arrays.stream(EntityType.values())
                 .filter(EntityType::isAlive)
                 .map(type -> type.name().toLowerCase())
@@ -50,11 +54,22 @@ public class SlayerRewardsTabCompleter implements TabCompleter {
         List<String> completions = new ArrayList<>();
 
         if (args.length == 1) {
-            StringUtil.copyPartialMatches(args[0], Collections.singletonList("edit"), completions);
+            StringUtil.copyPartialMatches(args[0], Arrays.asList("edit", "pool", "migrate", "export", "import", "stats"), completions);
         }
-        else if (args.length == 2 && args[0].equalsIgnoreCase("edit")) {
+        else if (args.length == 2 && (args[0].equalsIgnoreCase("edit") || args[0].equalsIgnoreCase("pool"))) {
             StringUtil.copyPartialMatches(args[1], allEntityTypes, completions);
         }
+        else if (args.length == 2 && args[0].equalsIgnoreCase("migrate")) {
+            StringUtil.copyPartialMatches(args[1], Collections.singletonList("confirm"), completions);
+        }
+        else if (args.length == 3 && args[0].equalsIgnoreCase("pool")) {
+            MobReward reward = provider.getRegistry().get(args[1]);
+            if (reward != null) {
+                List<String> pools = new ArrayList<>();
+                for (LootPool pool : reward.pools()) pools.add(pool.name());
+                StringUtil.copyPartialMatches(args[2], pools, completions);
+            }
+        }
 
         Collections.sort(completions);
         return completions;
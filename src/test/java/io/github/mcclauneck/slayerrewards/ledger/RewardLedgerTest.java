@@ -0,0 +1,136 @@
+package io.github.mcclauneck.slayerrewards.ledger;
+
+import io.github.mcclauneck.slayerrewards.metrics.SlayerRewardsMetrics;
+import io.github.mcengine.mceconomy.api.enums.CurrencyType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recovery tests for {@link RewardLedger}.
+ */
+class RewardLedgerTest {
+
+    private static final String PLAYER = "00000000-0000-0000-0000-000000000001";
+
+    @TempDir
+    File folder;
+
+    @Test
+    void recoversPendingPayoutsBeforeATornTail() throws IOException {
+        File file = new File(folder, "ledger.bin");
+        RewardLedger ledger = open(file, 5);
+        long first = ledger.append(PLAYER, CurrencyType.COIN, 10).join();
+        long second = ledger.append(PLAYER, CurrencyType.COIN, 20).join();
+        ledger.append(PLAYER, CurrencyType.COIN, 30).join();
+        ledger.close(5000L);
+
+        // Cut the last record in half, as a crash in the middle of a write would
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 10);
+        }
+
+        RewardLedger reopened = open(file, 5);
+        List<LedgerEntry> recovered = reopened.getRecovered();
+        reopened.close(5000L);
+
+        assertEquals(List.of(first, second), recovered.stream().map(LedgerEntry::id).toList());
+        assertEquals(List.of(10, 20), recovered.stream().map(LedgerEntry::amount).toList());
+        assertTrue(recovered.stream().allMatch(entry -> entry.replays() == 1));
+    }
+
+    @Test
+    void recoversPayoutsAppendedAfterAFailedWrite() throws IOException {
+        File file = new File(folder, "ledger.bin");
+        FailingLedger ledger = new FailingLedger(file);
+        long first = ledger.append(PLAYER, CurrencyType.COIN, 10).join();
+        ledger.failNext = true;
+        assertEquals(RewardLedger.UNLOGGED, ledger.append(PLAYER, CurrencyType.COIN, 20).join());
+        long third = ledger.append(PLAYER, CurrencyType.COIN, 30).join();
+
+        // Copy the file as a crash would leave it; closing compacts the ledger from memory
+        File crashed = new File(folder, "crashed.bin");
+        Files.copy(file.toPath(), crashed.toPath());
+        ledger.close(5000L);
+
+        RewardLedger reopened = open(crashed, 5);
+        List<LedgerEntry> recovered = reopened.getRecovered();
+        reopened.close(5000L);
+
+        assertEquals(List.of(first, third), recovered.stream().map(LedgerEntry::id).toList());
+    }
+
+    @Test
+    void forgetsAcknowledgedPayouts() throws IOException {
+        File file = new File(folder, "ledger.bin");
+        RewardLedger ledger = open(file, 5);
+        long paid = ledger.append(PLAYER, CurrencyType.COIN, 10).join();
+        long unpaid = ledger.append(PLAYER, CurrencyType.COIN, 20).join();
+        ledger.complete(paid);
+        ledger.close(5000L);
+
+        RewardLedger reopened = open(file, 5);
+        List<LedgerEntry> recovered = reopened.getRecovered();
+        reopened.close(5000L);
+
+        assertEquals(List.of(unpaid), recovered.stream().map(LedgerEntry::id).toList());
+    }
+
+    @Test
+    void dropsPayoutsAfterTheirLastReplay() throws IOException {
+        File file = new File(folder, "ledger.bin");
+        RewardLedger ledger = open(file, 2);
+        ledger.append(PLAYER, CurrencyType.COIN, 10).join();
+        ledger.close(5000L);
+
+        for (int replay = 1; replay <= 2; replay++) {
+            RewardLedger reopened = open(file, 2);
+            assertEquals(1, reopened.getRecovered().size());
+            assertEquals(replay, reopened.getRecovered().get(0).replays());
+            reopened.close(5000L);
+        }
+
+        RewardLedger exhausted = open(file, 2);
+        List<LedgerEntry> recovered = exhausted.getRecovered();
+        exhausted.close(5000L);
+        assertTrue(recovered.isEmpty());
+    }
+
+    private static RewardLedger open(File file, int maxReplays) throws IOException {
+        return new RewardLedger(file, 512, 4194304L, maxReplays, new SlayerRewardsMetrics());
+    }
+
+    /**
+     * A ledger whose next write stops halfway and fails, like a full disk.
+     */
+    private static final class FailingLedger extends RewardLedger {
+
+        private volatile boolean failNext;
+
+        private FailingLedger(File file) throws IOException {
+            super(file, 512, 4194304L, 5, new SlayerRewardsMetrics());
+        }
+
+        @Override
+        void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+            if (!failNext) {
+                super.write(channel, buffer);
+                return;
+            }
+            failNext = false;
+            buffer.limit(buffer.position() + buffer.remaining() / 2);
+            super.write(channel, buffer);
+            throw new IOException("No space left on device");
+        }
+    }
+}